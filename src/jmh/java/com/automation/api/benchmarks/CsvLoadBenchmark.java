@@ -0,0 +1,94 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.core.CsvTestDataLoader;
+import com.automation.api.core.MappedCsvLoader;
+import com.automation.api.model.TestCaseData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CsvTestDataLoader.load over synthetic suites of several sizes and
+ * widths, read from the classpath like the real suites, and
+ * MappedCsvLoader.load over the same file on disk. Divide by rows for the
+ * per-row cost.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvLoadBenchmark {
+
+    private static final String CSV_NAME = "bench-suite.csv";
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    /**
+     * request_, store_ and expected_json_ columns per row (each).
+     */
+    @Param({"2", "20"})
+    public int fields;
+
+    private Path dir;
+    private ClassLoader previousLoader;
+    private URLClassLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("csv-load-bench");
+        Files.writeString(dir.resolve(CSV_NAME), SyntheticSuite.csv(rows, fields), StandardCharsets.UTF_8);
+        // load() reads from the context class loader; thread-scoped state
+        // means setup runs on the thread that runs the benchmark
+        loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader());
+        previousLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(loader);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        loader.close();
+        Files.delete(dir.resolve(CSV_NAME));
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public List<TestCaseData> load() {
+        return CsvTestDataLoader.load(CSV_NAME);
+    }
+
+    @Benchmark
+    public List<TestCaseData> mapped() {
+        return MappedCsvLoader.load(dir.resolve(CSV_NAME));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        CsvTestDataLoader.iterator(CSV_NAME).forEachRemaining(blackhole::consume);
+    }
+}
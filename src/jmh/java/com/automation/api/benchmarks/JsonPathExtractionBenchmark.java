@@ -0,0 +1,88 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.core.ParsedResponse;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-response cost of answering the expected_json_* / store_* paths of a
+ * row: CompiledJsonPath over a Jackson tree against REST Assured's Groovy
+ * JsonPath, which is what ParsedResponse used for every path before.
+ * <p>
+ * Each invocation starts from a fresh response, so parsing is included.
+ * Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathExtractionBenchmark {
+
+    private static final String[] PATHS = {"data.id", "data.email", "data.roles[0]", "meta.page"};
+
+    /**
+     * Number of elements in the response's items array.
+     */
+    @Param({"1", "100", "10000"})
+    public int items;
+
+    private String body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder()
+                .append("{\"data\":{\"id\":42,\"email\":\"janet.weaver@reqres.in\",\"roles\":[\"admin\",\"qa\"]},")
+                .append("\"meta\":{\"page\":2,\"total\":").append(items).append("},\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(i)
+                    .append("\",\"price\":").append(i * 1.25)
+                    .append(",\"tags\":[\"a\",\"b\"]}");
+        }
+        body = json.append("]}").toString();
+    }
+
+    private ParsedResponse response() {
+        Response response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+        return new ParsedResponse(response);
+    }
+
+    @Benchmark
+    public void compiledPaths(Blackhole blackhole) {
+        ParsedResponse response = response();
+        for (String path : PATHS) {
+            blackhole.consume(response.read(path));
+        }
+    }
+
+    @Benchmark
+    public void groovyJsonPath(Blackhole blackhole) {
+        ParsedResponse response = response();
+        for (String path : PATHS) {
+            blackhole.consume(response.getJsonPath().get(path));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.core.DataContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares DataContext.resolvePlaceholders against the previous
+ * regex/StringBuffer implementation, for literal cells and cells with
+ * one or several placeholders.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaceholderResolutionBenchmark {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([^}]+)}|\\{\\{([^}]+)}}");
+
+    private static final Map<String, String> LEGACY_CONTEXT = new ConcurrentHashMap<>();
+
+    @Param({
+            "QA Engineer",
+            "Bearer ${token}",
+            "/api/users/${userId}/orders/{{orderId}}?trace=${traceId}"
+    })
+    public String input;
+
+    private DataContext context;
+
+    @Setup
+    public void setUp() {
+        context = DataContext.global().child();
+        for (String[] kv : new String[][]{
+                {"token", "eyJhbGciOiJIUzI1NiJ9.e30.abc"},
+                {"userId", "42"},
+                {"orderId", "A-1001"},
+                {"traceId", "0af7651916cd43dd8448eb211c80319c"}}) {
+            context.put(kv[0], kv[1]);
+            LEGACY_CONTEXT.put(kv[0], kv[1]);
+        }
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return context.resolvePlaceholders(input);
+    }
+
+    @Benchmark
+    public String legacyRegex() {
+        return legacyResolve(input);
+    }
+
+    /**
+     * The implementation DataContext.resolvePlaceholders used before
+     * CompiledTemplate was introduced.
+     */
+    private static String legacyResolve(String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(input);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            String key = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            String value = LEGACY_CONTEXT.getOrDefault(key, "");
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.reporting.ReportSpool;
+import com.automation.api.reporting.TestRunRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Collecting finished test records from 64 threads at once:
+ * - queuedSpool: ReportSpool, records serialized by the caller and queued
+ *   lock-free; whichever appender wins a compare-and-set writes the queued
+ *   batch for everyone, and the others return without waiting
+ * - lockedSpool: serialize and write under one monitor, as the spool did
+ *   when it was introduced
+ * - synchronizedList: the original Collections.synchronizedList, which
+ *   kept every record in memory
+ * <p>
+ * Each iteration ends by draining the spool, so queued records are paid
+ * for in the iteration that produced them. Run with {@code -prof gc} to
+ * compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class ReportSpoolContentionBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Path dir;
+    private TestRunRecord record;
+    private ReportSpool spool;
+    private BufferedWriter lockedWriter;
+    private List<TestRunRecord> synchronizedList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("report-spool-bench");
+        record = new TestRunRecord();
+        record.setTestId("TC_0042");
+        record.setTestName("Get single user");
+        record.setMethod("GET");
+        record.setUrl("https://reqres.in/api/users/2");
+        record.setRequestHeaders(Map.of("Accept", "application/json"));
+        record.setResponseStatus("200");
+        record.setResponseHeaders(Map.of("Content-Type", "application/json; charset=utf-8"));
+        record.setResponseBody("{\n  \"data\" : {\n    \"id\" : 2,\n    \"email\" : \"janet.weaver@reqres.in\"\n  }\n}");
+        record.setDurationNanos(12_345_678);
+        record.setTimingBreakdown("12.3 ms (dns 0.0, connect 0.0, ttfb 11.9, transfer 0.4)");
+        record.setResult("PASS");
+    }
+
+    @Setup(Level.Iteration)
+    public void openSinks() throws IOException {
+        spool = new ReportSpool(dir.resolve("queued.jsonl"));
+        lockedWriter = Files.newBufferedWriter(dir.resolve("locked.jsonl"), StandardCharsets.UTF_8);
+        synchronizedList = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeSinks() throws IOException {
+        spool.close();
+        lockedWriter.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public void queuedSpool() throws IOException {
+        spool.append(record);
+    }
+
+    @Benchmark
+    public void lockedSpool() throws IOException {
+        synchronized (this) {
+            lockedWriter.write(MAPPER.writeValueAsString(record));
+            lockedWriter.newLine();
+            lockedWriter.flush();
+        }
+    }
+
+    @Benchmark
+    public void synchronizedList() {
+        synchronizedList.add(record);
+    }
+}
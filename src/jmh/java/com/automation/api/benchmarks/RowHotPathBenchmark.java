@@ -0,0 +1,95 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.core.DataContext;
+import com.automation.api.core.JsonTemplateResolver;
+import com.automation.api.core.ParsedResponse;
+import com.automation.api.core.RequestBuilder;
+import com.automation.api.core.ResponseChainingProcessor;
+import com.automation.api.core.ResponseValidator;
+import com.automation.api.model.TestCaseData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The framework's own work for one row, step by step, with no network:
+ * building the body from its template, building the request, then
+ * capturing store_* values from and validating expected_* values against
+ * a canned response. Placeholder resolution has its own benchmark
+ * ({@link PlaceholderResolutionBenchmark}).
+ * <p>
+ * capture and validate start from a fresh response each time, so parsing
+ * the body is included, as it is for a real row. Run with {@code -prof gc}
+ * to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowHotPathBenchmark {
+
+    /**
+     * request_, store_ and expected_json_ columns in the row (each).
+     */
+    @Param({"2", "20", "200"})
+    public int fields;
+
+    private TestCaseData row;
+    private TestCaseData bound;
+    private Map<String, String> requestFields;
+    private String responseJson;
+    private DataContext context;
+
+    @Setup
+    public void setUp() {
+        row = new TestCaseData(SyntheticSuite.row(1, fields));
+        context = DataContext.global().child();
+        bound = context.bind(row);
+        requestFields = bound.getRequestFields();
+        responseJson = SyntheticSuite.responseJson(fields);
+        // warm the template cache, as the first row of a run does
+        JsonTemplateResolver.buildBodyBytes(bound.getBodyTemplateAlias(), requestFields);
+    }
+
+    @Benchmark
+    public String buildBody() {
+        return JsonTemplateResolver.buildBody(bound.getBodyTemplateAlias(), requestFields);
+    }
+
+    @Benchmark
+    public byte[] buildBodyBytes() {
+        return JsonTemplateResolver.buildBodyBytes(bound.getBodyTemplateAlias(), requestFields);
+    }
+
+    @Benchmark
+    public RequestBuilder.BuiltRequest build() {
+        return RequestBuilder.build(row, context);
+    }
+
+    @Benchmark
+    public DataContext capture() {
+        ParsedResponse response = SyntheticSuite.response(responseJson);
+        ResponseChainingProcessor.capture(response, bound, context);
+        return context;
+    }
+
+    @Benchmark
+    public ParsedResponse validate() {
+        ParsedResponse response = SyntheticSuite.response(responseJson);
+        ResponseValidator.validate(response, bound, context);
+        return response;
+    }
+}
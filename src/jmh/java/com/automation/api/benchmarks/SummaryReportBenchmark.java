@@ -0,0 +1,91 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.core.DataContext;
+import com.automation.api.core.RequestBuilder;
+import com.automation.api.model.TestCaseData;
+import com.automation.api.reporting.ReportPipeline;
+import com.automation.api.reporting.SummaryReportManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * SummaryReportManager.writeHtmlSummary over runs of several sizes: the
+ * records are spooled once in setup, the way a run records them, and each
+ * invocation renders the index page and every result page again. One row
+ * in ten fails, so its full payload is in the spool.
+ * <p>
+ * The spool and pages go to a temporary directory (report.spoolFile is set
+ * before SummaryReportManager loads, hence one fork per parameter set).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SummaryReportBenchmark {
+
+    @Param({"100", "10000"})
+    public int records;
+
+    /**
+     * request_, store_ and expected_json_ columns per row (each).
+     */
+    @Param({"2", "20"})
+    public int fields;
+
+    private Path dir;
+    private String output;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("summary-report-bench");
+        System.setProperty("report.spoolFile", dir.resolve("records.jsonl").toString());
+        output = dir.resolve("api-summary.html").toString();
+
+        DataContext context = DataContext.global().child();
+        String json = SyntheticSuite.responseJson(fields);
+        for (int i = 0; i < records; i++) {
+            TestCaseData row = context.bind(new TestCaseData(SyntheticSuite.row(i, fields)));
+            SummaryReportManager.start(row, RequestBuilder.build(row, context));
+            SummaryReportManager.attachResponse(SyntheticSuite.response(json), null);
+            boolean failed = i % 10 == 0;
+            SummaryReportManager.markResult(failed ? "FAIL" : "PASS",
+                    failed ? new AssertionError("expected [v0] but found [v1]") : null);
+            SummaryReportManager.finish();
+        }
+        ReportPipeline.drain();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String writeHtmlSummary() {
+        SummaryReportManager.writeHtmlSummary(output);
+        return output;
+    }
+}
@@ -0,0 +1,89 @@
+package com.automation.api.benchmarks;
+
+import com.automation.api.core.ParsedResponse;
+import io.restassured.builder.ResponseBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Synthetic CSV rows and canned responses for the benchmarks, so nothing
+ * needs the network. A row with {@code fields} fields has that many
+ * request_ columns, store_ columns and expected_json_ columns, all matching
+ * the canned response for the same size.
+ */
+final class SyntheticSuite {
+
+    private SyntheticSuite() {
+    }
+
+    /**
+     * One row: a POST of the createUser template with nested overrides,
+     * capturing and checking every field of the response.
+     */
+    static Map<String, String> row(int index, int fields) {
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put("testcase_id", "TC" + index);
+        row.put("testcase_name", "Synthetic row " + index);
+        row.put("method", "POST");
+        row.put("base_url_key", "baseUrl");
+        row.put("endpoint_key", "users");
+        row.put("body_template", "createUser");
+        row.put("header_Accept", "application/json");
+        row.put("header_X-Trace-Id", "trace-" + index);
+        row.put("expected_status", "201");
+        for (int i = 0; i < fields; i++) {
+            row.put("request_profile.attr" + i, "value-" + i);
+            row.put("store_field" + i, "data.f" + i);
+            row.put("expected_json_data.f" + i, "v" + i);
+        }
+        return row;
+    }
+
+    /**
+     * A suite of rows as CSV text, header included.
+     */
+    static String csv(int rows, int fields) {
+        Map<String, String> first = row(0, fields);
+        StringBuilder csv = new StringBuilder(rows * 64 * (fields + 8));
+        csv.append(String.join(",", first.keySet())).append('\n');
+        for (int r = 0; r < rows; r++) {
+            boolean firstColumn = true;
+            for (String value : row(r, fields).values()) {
+                if (!firstColumn) {
+                    csv.append(',');
+                }
+                firstColumn = false;
+                // quote some cells, as spreadsheets do
+                csv.append(value.indexOf(' ') >= 0 ? '"' + value + '"' : value);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * The response body every row of this size expects.
+     */
+    static String responseJson(int fields) {
+        StringBuilder json = new StringBuilder("{\"data\":{");
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"f").append(i).append("\":\"v").append(i).append('"');
+        }
+        return json.append("},\"meta\":{\"requestId\":\"abc-123\"}}").toString();
+    }
+
+    /**
+     * A response as the framework sees it once it has arrived.
+     */
+    static ParsedResponse response(String json) {
+        return new ParsedResponse(new ResponseBuilder()
+                .setStatusCode(201)
+                .setContentType("application/json")
+                .setBody(json)
+                .build());
+    }
+}
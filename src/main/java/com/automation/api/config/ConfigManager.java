@@ -2,33 +2,80 @@ package com.automation.api.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ConfigManager {
 
     private static final String DEFAULT_CONFIG_FILE = "config.properties";
-    private static final Properties PROPERTIES = new Properties();
+
+    // Loaded once and never changed, so reads need no lock (unlike Properties)
+    private static final Map<String, String> SETTINGS;
+
+    // base URL key -> endpoint key -> URL, for every baseUrl* and endpoint.* key
+    private static final Map<String, Map<String, String>> URLS;
+
+    // Other pairs (literal paths, plain keys), resolved on first use
+    private static final Map<String, Map<String, String>> RESOLVED_URLS = new ConcurrentHashMap<>();
+    private static final AtomicInteger RESOLVED_URL_COUNT = new AtomicInteger();
+    private static final int MAX_RESOLVED_URLS = 10_000;
 
     static {
-        load(DEFAULT_CONFIG_FILE);
+        Properties properties = new Properties();
+        load(properties, DEFAULT_CONFIG_FILE);
+        String env = System.getProperty("env", "").trim();
+        if (!env.isEmpty()) {
+            load(properties, "config-" + env + ".properties");
+        }
+        Map<String, String> settings = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            settings.put(key, properties.getProperty(key));
+        }
+        // URLs are resolved from SETTINGS alone, so -D overrides for them are
+        // taken in here, once, rather than on each lookup like get()
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (isUrlKey(key)) {
+                settings.put(key, System.getProperty(key));
+            }
+        }
+        SETTINGS = Map.copyOf(settings);
+        URLS = precomputeUrls();
     }
 
-    private static void load(String fileName) {
+    private static void load(Properties properties, String fileName) {
         try (InputStream is = Thread.currentThread()
                 .getContextClassLoader()
                 .getResourceAsStream(fileName)) {
             if (is == null) {
                 throw new IllegalStateException("Could not find config file on classpath: " + fileName);
             }
-            PROPERTIES.load(is);
+            properties.load(is);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load config file: " + fileName, e);
         }
     }
 
+    /**
+     * Read a setting. A JVM system property with the same key (-Dkey=value)
+     * takes precedence over config.properties and the environment overlay
+     * (config-&lt;env&gt;.properties, chosen with -Denv=&lt;env&gt;).
+     * <p>
+     * URL resolution only honours system properties for baseUrl, baseUrl.*
+     * and endpoint.* keys, and only those set when the class loads; plain
+     * alias keys (credit=/v1/credit) come from the files alone.
+     */
     public static String get(String key) {
-        String value = PROPERTIES.getProperty(key);
+        String value = System.getProperty(key, SETTINGS.get(key));
         if (value == null) {
             throw new IllegalArgumentException("Missing config key: " + key);
         }
@@ -36,10 +83,40 @@ public class ConfigManager {
     }
 
     public static String getOrDefault(String key, String defaultValue) {
-        String value = PROPERTIES.getProperty(key);
+        String value = System.getProperty(key, SETTINGS.get(key));
         return Objects.requireNonNullElseGet(value, () -> defaultValue).trim();
     }
 
+    /**
+     * SHA-256 over the settings URL resolution reads: baseUrl, every
+     * baseUrl.* and endpoint.* key, and the given keys, which rows may name
+     * directly as base_url_key or endpoint_key (e.g. credit=/v1/credit).
+     * Anything resolved from them ahead of time (see CompiledSuite) can tell
+     * whether it still matches; other settings, suite.artifact included, do
+     * not change it.
+     */
+    public static byte[] fingerprint(Collection<String> keys) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        Set<String> names = new TreeSet<>(keys);
+        for (String key : SETTINGS.keySet()) {
+            if (isUrlKey(key)) {
+                names.add(key);
+            }
+        }
+        for (String name : names) {
+            String value = SETTINGS.get(name);
+            // an unset key differs from one set to an empty value
+            String line = value == null ? name + '\0' : name + '=' + value;
+            digest.update((line + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        return digest.digest();
+    }
+
     /**
      * Resolve an endpoint from the properties, allowing aliases.
      * <p>
@@ -53,12 +130,12 @@ public class ConfigManager {
             throw new IllegalArgumentException("Endpoint alias or path must not be empty");
         }
         // Try endpoint.<alias>
-        String byEndpointPrefix = PROPERTIES.getProperty("endpoint." + aliasOrPath);
+        String byEndpointPrefix = SETTINGS.get("endpoint." + aliasOrPath);
         if (byEndpointPrefix != null) {
             return byEndpointPrefix.trim();
         }
         // Try plain alias key (e.g. credit=/v1/credit)
-        String byPlainKey = PROPERTIES.getProperty(aliasOrPath);
+        String byPlainKey = SETTINGS.get(aliasOrPath);
         if (byPlainKey != null) {
             return byPlainKey.trim();
         }
@@ -68,16 +145,93 @@ public class ConfigManager {
 
     public static String getBaseUrl(String key) {
         // Example: baseUrl or baseUrl.credit
-        String direct = PROPERTIES.getProperty(key);
+        String direct = SETTINGS.get(key);
         if (direct != null) {
             return direct.trim();
         }
-        String withPrefix = PROPERTIES.getProperty("baseUrl." + key);
+        String withPrefix = SETTINGS.get("baseUrl." + key);
         if (withPrefix != null) {
             return withPrefix.trim();
         }
         // Fallback to global baseUrl
         return get("baseUrl");
     }
-}
 
+    /**
+     * Base URL plus endpoint path for a base_url_key and endpoint_key (empty
+     * for none), as {@link #getBaseUrl} and {@link #resolveEndpoint} resolve
+     * them. Pairs of configured keys come from a table built at startup;
+     * any other pair is resolved on its first use and then reused.
+     */
+    public static String resolveUrl(String baseUrlKey, String endpointAliasOrPath) {
+        Map<String, String> byEndpoint = URLS.get(baseUrlKey);
+        String url = byEndpoint != null ? byEndpoint.get(endpointAliasOrPath) : null;
+        if (url != null) {
+            return url;
+        }
+        byEndpoint = RESOLVED_URLS.get(baseUrlKey);
+        url = byEndpoint != null ? byEndpoint.get(endpointAliasOrPath) : null;
+        if (url != null) {
+            return url;
+        }
+        url = concatUrl(baseUrlKey, endpointAliasOrPath);
+        cacheUrl(baseUrlKey, endpointAliasOrPath, url);
+        return url;
+    }
+
+    /**
+     * Remember a URL resolved by {@link #resolveUrl} against the same
+     * configuration (see {@link #fingerprint}), so that it is not resolved
+     * again.
+     */
+    public static void cacheUrl(String baseUrlKey, String endpointAliasOrPath, String url) {
+        Map<String, String> byEndpoint = URLS.get(baseUrlKey);
+        if (byEndpoint != null && byEndpoint.containsKey(endpointAliasOrPath)) {
+            return;
+        }
+        // CSV data can hold any number of literal paths; past the limit they
+        // are resolved on every use instead
+        if (RESOLVED_URL_COUNT.get() < MAX_RESOLVED_URLS
+                && RESOLVED_URLS.computeIfAbsent(baseUrlKey, key -> new ConcurrentHashMap<>())
+                        .putIfAbsent(endpointAliasOrPath, url) == null) {
+            RESOLVED_URL_COUNT.incrementAndGet();
+        }
+    }
+
+    private static String concatUrl(String baseUrlKey, String endpointAliasOrPath) {
+        String baseUrl = getBaseUrl(baseUrlKey);
+        return endpointAliasOrPath.isEmpty() ? baseUrl : baseUrl + resolveEndpoint(endpointAliasOrPath);
+    }
+
+    private static boolean isUrlKey(String key) {
+        return key.equals("baseUrl") || key.startsWith("baseUrl.") || key.startsWith("endpoint.");
+    }
+
+    private static Map<String, Map<String, String>> precomputeUrls() {
+        Map<String, String> baseUrls = new HashMap<>();
+        Map<String, String> endpoints = new HashMap<>();
+        endpoints.put("", "");
+        for (String key : SETTINGS.keySet()) {
+            if (key.equals("baseUrl")) {
+                baseUrls.put(key, getBaseUrl(key));
+            } else if (key.startsWith("baseUrl.") && key.length() > "baseUrl.".length()) {
+                // a row may name it as baseUrl.echo or just echo
+                baseUrls.put(key, getBaseUrl(key));
+                String name = key.substring("baseUrl.".length());
+                baseUrls.put(name, getBaseUrl(name));
+            } else if (key.startsWith("endpoint.") && key.length() > "endpoint.".length()) {
+                String alias = key.substring("endpoint.".length());
+                endpoints.put(alias, resolveEndpoint(alias));
+            }
+        }
+        Map<String, Map<String, String>> urls = new HashMap<>();
+        for (Map.Entry<String, String> baseUrl : baseUrls.entrySet()) {
+            Map<String, String> byEndpoint = new HashMap<>();
+            for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+                byEndpoint.put(endpoint.getKey(), baseUrl.getValue() + endpoint.getValue());
+            }
+            urls.put(baseUrl.getKey(), Map.copyOf(byEndpoint));
+        }
+        return Map.copyOf(urls);
+    }
+}
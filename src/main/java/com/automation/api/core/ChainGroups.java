@@ -0,0 +1,77 @@
+package com.automation.api.core;
+
+import com.automation.api.model.TestCaseData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a suite into chains: groups of rows connected through store_*
+ * producers and ${var} consumers.
+ * <p>
+ * A consumer is linked to the latest earlier row storing the variable (per
+ * scope, falling back to suite-level values like {@link DependencyScheduler}).
+ * Rows keep their file order inside a group and groups are ordered by their
+ * first row. A chain run in its own context behaves exactly like it does in
+ * the full suite, so chains can be repeated or distributed independently.
+ */
+public final class ChainGroups {
+
+    private ChainGroups() {
+    }
+
+    public static List<List<TestCaseData>> partition(List<TestCaseData> rows) {
+        int[] parent = new int[rows.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        Map<String, Integer> lastProducer = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            TestCaseData row = rows.get(i);
+            String scope = row.getScope();
+            for (String var : DependencyScheduler.consumedVariables(row)) {
+                Integer producer = lastProducer.get(qualify(scope, var));
+                if (producer == null && !scope.isEmpty()) {
+                    producer = lastProducer.get(var);
+                }
+                if (producer != null) {
+                    union(parent, producer, i);
+                }
+            }
+            for (String var : row.getStoreFields().keySet()) {
+                lastProducer.put(qualify(scope, var), i);
+            }
+        }
+
+        Map<Integer, List<TestCaseData>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            groups.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(rows.get(i));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static String qualify(String scope, String var) {
+        return scope.isEmpty() ? var : scope + '\u0000' + var;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            // keep the earliest row as root so groups stay in file order
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
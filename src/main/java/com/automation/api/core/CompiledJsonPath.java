@@ -0,0 +1,244 @@
+package com.automation.api.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An expected_json_* or store_* path compiled once and evaluated directly
+ * against the response's Jackson tree instead of REST Assured's Groovy
+ * JsonPath.
+ * <p>
+ * Only plain paths are compiled: property names and array indexes, e.g.
+ * {@code data.id}, {@code items[0].name}, {@code items[-1].'first-name'}.
+ * Results match what JsonPath.get returns for them (Integer/Long/BigInteger,
+ * Float or Double for decimals, LinkedHashMap/ArrayList for containers), so
+ * comparing or storing String.valueOf(value) behaves as before. Anything
+ * else (GPath expressions like {@code items.findAll {...}} or
+ * {@code items.size()}, or a property read on an array, which GPath
+ * spreads over the elements) is handed to JsonPath unchanged.
+ */
+public final class CompiledJsonPath {
+
+    /**
+     * Upper bound on cached paths; paths beyond it are compiled per call.
+     */
+    private static final int MAX_CACHED_PATHS = 10_000;
+
+    private static final Map<String, CompiledJsonPath> CACHE = new ConcurrentHashMap<>();
+
+    // identifiers GPath would not treat as a plain property lookup ($ is the root)
+    private static final Set<String> RESERVED = Set.of(
+            "$", "class", "true", "false", "null", "in", "as", "instanceof", "new", "this", "super",
+            "def", "if", "else", "for", "while", "return", "it", "delegate", "owner");
+
+    private static final BigDecimal FLOAT_MAX = BigDecimal.valueOf(Float.MAX_VALUE);
+
+    /**
+     * Returned by {@link #evaluate(JsonNode)} when the tree shape needs
+     * GPath semantics.
+     */
+    static final Object FALLBACK = new Object();
+
+    private final String path;
+    // null when the path is not a plain path and always goes to JsonPath
+    private final Object[] segments; // String property names, Integer indexes
+
+    private CompiledJsonPath(String path, Object[] segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * Return the cached accessor for the given path, parsing it on first use.
+     */
+    public static CompiledJsonPath compile(String path) {
+        CompiledJsonPath cached = CACHE.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        CompiledJsonPath compiled = new CompiledJsonPath(path, parse(path));
+        if (CACHE.size() < MAX_CACHED_PATHS) {
+            CompiledJsonPath previous = CACHE.putIfAbsent(path, compiled);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return compiled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * False if the path is always evaluated by JsonPath.
+     */
+    public boolean isCompiled() {
+        return segments != null;
+    }
+
+    /**
+     * The value at this path, or null if there is none.
+     */
+    public Object read(ParsedResponse response) {
+        if (segments != null) {
+            JsonNode root = response.getJsonTree();
+            if (root != null) {
+                Object value = evaluate(root);
+                if (value != FALLBACK) {
+                    return value;
+                }
+            }
+        }
+        // not a plain path, or not valid JSON: let JsonPath decide, including how to fail
+        return response.getJsonPath().get(path);
+    }
+
+    /**
+     * Property names (String) and indexes (Integer), or null if not compiled.
+     */
+    Object[] segments() {
+        return segments;
+    }
+
+    Object evaluate(JsonNode root) {
+        JsonNode node = root;
+        for (Object segment : segments) {
+            if (segment instanceof String name) {
+                if (!node.isObject()) {
+                    return FALLBACK;
+                }
+                node = node.get(name);
+            } else {
+                if (!node.isArray()) {
+                    return FALLBACK;
+                }
+                int index = (Integer) segment;
+                if (index < 0) {
+                    if (-index > node.size()) {
+                        return FALLBACK; // Groovy throws for this one
+                    }
+                    index += node.size();
+                }
+                node = node.get(index);
+            }
+            if (node == null || node.isNull()) {
+                return null;
+            }
+        }
+        return toGPathValue(node);
+    }
+
+    /**
+     * Convert a JSON value to the Java type JsonPath returns for it.
+     */
+    static Object toGPathValue(JsonNode node) {
+        switch (node.getNodeType()) {
+            case STRING:
+                return node.textValue();
+            case BOOLEAN:
+                return node.booleanValue();
+            case NUMBER:
+                if (node.isIntegralNumber()) {
+                    BigInteger value = node.bigIntegerValue();
+                    if (value.bitLength() < 32) {
+                        return value.intValue();
+                    }
+                    return value.bitLength() < 64 ? (Object) value.longValue() : value;
+                }
+                BigDecimal decimal = node.decimalValue();
+                return decimal.abs().compareTo(FLOAT_MAX) <= 0
+                        ? (Object) decimal.floatValue()
+                        : decimal.doubleValue();
+            case OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = it.next();
+                    map.put(field.getKey(), toGPathValue(field.getValue()));
+                }
+                return map;
+            case ARRAY:
+                List<Object> list = new ArrayList<>(node.size());
+                for (JsonNode element : node) {
+                    list.add(toGPathValue(element));
+                }
+                return list;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Split a plain path into segments, or return null if it is anything else.
+     */
+    static Object[] parse(String path) {
+        List<Object> segments = new ArrayList<>();
+        int i = 0;
+        int n = path.length();
+        boolean expectName = true;
+        while (i < n) {
+            char c = path.charAt(i);
+            if (c == '[' && (!expectName || i == 0)) {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    return null;
+                }
+                Integer index = parseIndex(path.substring(i + 1, close));
+                if (index == null) {
+                    return null;
+                }
+                segments.add(index);
+                i = close + 1;
+                expectName = false;
+            } else if (c == '.' && !expectName && i + 1 < n) {
+                i++;
+                expectName = true;
+            } else if (expectName && c == '\'') {
+                int close = path.indexOf('\'', i + 1);
+                if (close < 0 || path.substring(i + 1, close).indexOf('\\') >= 0) {
+                    return null;
+                }
+                segments.add(path.substring(i + 1, close));
+                i = close + 1;
+                expectName = false;
+            } else if (expectName && Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < n && Character.isJavaIdentifierPart(path.charAt(end))) {
+                    end++;
+                }
+                String name = path.substring(i, end);
+                if (RESERVED.contains(name)) {
+                    return null;
+                }
+                segments.add(name);
+                i = end;
+                expectName = false;
+            } else {
+                return null;
+            }
+        }
+        return segments.isEmpty() || expectName ? null : segments.toArray();
+    }
+
+    private static Integer parseIndex(String text) {
+        if (text.isEmpty() || text.length() > 9) {
+            return null;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!(Character.isDigit(c) || (i == 0 && c == '-' && text.length() > 1))) {
+                return null;
+            }
+        }
+        return Integer.valueOf(text);
+    }
+}
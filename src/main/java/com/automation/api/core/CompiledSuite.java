@@ -0,0 +1,445 @@
+package com.automation.api.core;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.model.ColumnSchema;
+import com.automation.api.model.TestCaseData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A CSV suite compiled ahead of time into one binary file, so that runs
+ * (e.g. many CI shards) start without parsing CSV, resolving endpoints or
+ * reading JSON templates.
+ * <p>
+ * The file holds a table of every distinct string, the header, each row as
+ * fixed-width string ids, the URLs resolved for each (base_url_key,
+ * endpoint_key) pair, the JSON templates the rows use and the placeholder
+ * cells already split into segments. It is memory-mapped when opened, rows
+ * are decoded on demand, and strings shared by many rows are decoded once.
+ * <p>
+ * Resolved URLs depend on the base URL and endpoint settings, so the file
+ * records their {@link ConfigManager#fingerprint fingerprint} and refuses
+ * to open once any of them has changed; other settings, such as
+ * suite.artifact itself, can change freely. Templates are taken from the
+ * file; recompile after changing them. Files are limited to 2 GiB.
+ * <p>
+ * Compile with {@code CompiledSuite <csv> <output>}, where the CSV is a file
+ * on disk or a classpath resource.
+ */
+public final class CompiledSuite implements Iterable<TestCaseData> {
+
+    private static final byte[] MAGIC = "APISUITE".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+    private static final int NULL = -1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int offsetsAt;
+    private final int stringsAt;
+    // decoded on first use; a race only decodes the same immutable String twice
+    private final String[] strings;
+    private final ColumnSchema schema;
+    private final int rowCount;
+    private final int rowsAt;
+
+    private CompiledSuite(Path file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC) || buffer.getInt(MAGIC.length) != VERSION) {
+            throw new IllegalStateException("Not a compiled suite (version " + VERSION + "): " + file);
+        }
+        int at = MAGIC.length + 4;
+        byte[] fingerprint = new byte[32];
+        buffer.get(at, fingerprint);
+        at += fingerprint.length;
+
+        int stringCount = buffer.getInt(at);
+        offsetsAt = at + 4;
+        stringsAt = offsetsAt + 4 * (stringCount + 1);
+        strings = new String[stringCount];
+        at = stringsAt + buffer.getInt(offsetsAt + 4 * stringCount);
+
+        int columns = buffer.getInt(at);
+        String[] header = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            header[i] = string(buffer.getInt(at + 4 + 4 * i));
+        }
+        schema = ColumnSchema.of(header);
+        at += 4 + 4 * columns;
+
+        rowCount = buffer.getInt(at);
+        rowsAt = at + 4;
+        at = rowsAt + 4 * rowCount * columns;
+
+        int urlCount = buffer.getInt(at);
+        at += 4;
+        String[][] urls = new String[urlCount][];
+        Set<String> urlKeys = new HashSet<>();
+        for (int i = 0; i < urlCount; i++, at += 12) {
+            urls[i] = new String[]{string(buffer.getInt(at)), string(buffer.getInt(at + 4)),
+                    string(buffer.getInt(at + 8))};
+            urlKeys.add(urls[i][0]);
+            urlKeys.add(urls[i][1]);
+        }
+        if (!MessageDigest.isEqual(fingerprint, ConfigManager.fingerprint(urlKeys))) {
+            throw new IllegalStateException("Compiled suite " + file
+                    + " was built with different base URL or endpoint settings; compile it again");
+        }
+        for (String[] url : urls) {
+            ConfigManager.cacheUrl(url[0], url[1], url[2]);
+        }
+
+        int templates = buffer.getInt(at);
+        at += 4;
+        for (int i = 0; i < templates; i++, at += 8) {
+            String alias = string(buffer.getInt(at));
+            try {
+                JsonTemplateResolver.preload(alias, (ObjectNode) MAPPER.readTree(string(buffer.getInt(at + 4))));
+            } catch (IOException e) {
+                throw new IllegalStateException("Corrupt JSON template " + alias + " in " + file, e);
+            }
+        }
+
+        int placeholders = buffer.getInt(at);
+        at += 4;
+        for (int i = 0; i < placeholders; i++) {
+            String source = string(buffer.getInt(at));
+            int variableCount = buffer.getInt(at + 4);
+            at += 8;
+            String[] literals = new String[variableCount + 1];
+            for (int j = 0; j < literals.length; j++, at += 4) {
+                literals[j] = string(buffer.getInt(at));
+            }
+            String[] variables = new String[variableCount];
+            for (int j = 0; j < variables.length; j++, at += 4) {
+                variables[j] = string(buffer.getInt(at));
+            }
+            CompiledTemplate.preload(source, literals, variables);
+        }
+    }
+
+    /**
+     * Map a compiled suite and make its resolved URLs, JSON templates and
+     * placeholder templates the ones used by this JVM.
+     */
+    public static CompiledSuite open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() >= Integer.MAX_VALUE) {
+                throw new IllegalStateException("Compiled suite larger than 2 GiB: " + file);
+            }
+            // the mapping stays valid after the channel is closed
+            return new CompiledSuite(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open compiled suite: " + file, e);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Truncated compiled suite: " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public ColumnSchema getSchema() {
+        return schema;
+    }
+
+    public int size() {
+        return rowCount;
+    }
+
+    public TestCaseData row(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + rowCount);
+        }
+        int columns = schema.size();
+        int at = rowsAt + 4 * index * columns;
+        String[] values = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            values[i] = string(buffer.getInt(at + 4 * i));
+        }
+        return new TestCaseData(schema, values);
+    }
+
+    /**
+     * Rows in the order of the CSV they were compiled from.
+     */
+    @Override
+    public Iterator<TestCaseData> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rowCount;
+            }
+
+            @Override
+            public TestCaseData next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return row(next++);
+            }
+        };
+    }
+
+    private String string(int id) {
+        if (id == NULL) {
+            return null;
+        }
+        String value = strings[id];
+        if (value == null) {
+            int start = buffer.getInt(offsetsAt + 4 * id);
+            int end = buffer.getInt(offsetsAt + 4 * (id + 1));
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringsAt + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Compile rows, all read with the same header, against the current
+     * configuration and templates. The file is replaced atomically.
+     */
+    public static void compile(Iterator<TestCaseData> rows, Path output) {
+        Writer writer = new Writer();
+        ColumnSchema schema = null;
+        List<int[]> rowIds = new ArrayList<>();
+        Map<String, String> urls = new LinkedHashMap<>();
+        Map<String, String> templates = new LinkedHashMap<>();
+        Map<String, CompiledTemplate> placeholders = new LinkedHashMap<>();
+        while (rows.hasNext()) {
+            TestCaseData row = rows.next();
+            if (schema == null) {
+                schema = row.getSchema();
+            } else if (row.getSchema() != schema) {
+                throw new IllegalArgumentException("Rows of a compiled suite must share one header: "
+                        + row.getTestCaseId());
+            }
+            int[] ids = new int[schema.size()];
+            for (int i = 0; i < ids.length; i++) {
+                String value = row.get(i);
+                ids[i] = writer.id(value);
+                if (CompiledTemplate.mayContainPlaceholders(value) && !placeholders.containsKey(value)) {
+                    CompiledTemplate template = CompiledTemplate.compile(value);
+                    if (!template.isLiteral()) {
+                        placeholders.put(value, template);
+                    }
+                }
+            }
+            rowIds.add(ids);
+            resolveUrl(row, urls);
+            readTemplate(row.getBodyTemplateAlias(), templates);
+        }
+        if (schema == null) {
+            throw new IllegalArgumentException("No rows to compile into " + output);
+        }
+        for (int i = 0; i < schema.size(); i++) {
+            writer.id(schema.column(i));
+        }
+        urls.forEach((key, url) -> {
+            int split = key.indexOf('\0');
+            writer.id(key.substring(0, split));
+            writer.id(key.substring(split + 1));
+            writer.id(url);
+        });
+        templates.forEach((alias, json) -> {
+            writer.id(alias);
+            writer.id(json);
+        });
+        placeholders.values().forEach(template -> {
+            Arrays.stream(template.literals()).forEach(writer::id);
+            Arrays.stream(template.variables()).forEach(writer::id);
+        });
+
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, output.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.write(MAGIC);
+                out.writeInt(VERSION);
+                out.write(ConfigManager.fingerprint(urlKeys(urls)));
+                writer.writeStrings(out);
+
+                out.writeInt(schema.size());
+                for (int i = 0; i < schema.size(); i++) {
+                    out.writeInt(writer.id(schema.column(i)));
+                }
+                out.writeInt(rowIds.size());
+                for (int[] ids : rowIds) {
+                    for (int id : ids) {
+                        out.writeInt(id);
+                    }
+                }
+                out.writeInt(urls.size());
+                for (Map.Entry<String, String> url : urls.entrySet()) {
+                    int split = url.getKey().indexOf('\0');
+                    out.writeInt(writer.id(url.getKey().substring(0, split)));
+                    out.writeInt(writer.id(url.getKey().substring(split + 1)));
+                    out.writeInt(writer.id(url.getValue()));
+                }
+                out.writeInt(templates.size());
+                for (Map.Entry<String, String> template : templates.entrySet()) {
+                    out.writeInt(writer.id(template.getKey()));
+                    out.writeInt(writer.id(template.getValue()));
+                }
+                out.writeInt(placeholders.size());
+                for (CompiledTemplate template : placeholders.values()) {
+                    out.writeInt(writer.id(template.getSource()));
+                    out.writeInt(template.variables().length);
+                    for (String literal : template.literals()) {
+                        out.writeInt(writer.id(literal));
+                    }
+                    for (String variable : template.variables()) {
+                        out.writeInt(writer.id(variable));
+                    }
+                }
+                if (out.size() == Integer.MAX_VALUE) { // size() stops counting there
+                    throw new IllegalStateException("Compiled suite would exceed 2 GiB: " + output);
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write compiled suite: " + output, e);
+        }
+    }
+
+    private static Set<String> urlKeys(Map<String, String> urls) {
+        Set<String> keys = new HashSet<>();
+        for (String key : urls.keySet()) {
+            int split = key.indexOf('\0');
+            keys.add(key.substring(0, split));
+            keys.add(key.substring(split + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Resolve the row's URL now if nothing in it depends on values stored
+     * at run time. Rows whose URL cannot be resolved are left to fail when
+     * they run, as they would without a compiled suite.
+     */
+    private static void resolveUrl(TestCaseData row, Map<String, String> urls) {
+        String baseUrlKey = row.getBaseUrlKey();
+        String endpointKey = row.getEndpointKey();
+        if (!row.getUrlOverride().isEmpty() || baseUrlKey == null || endpointKey == null
+                || CompiledTemplate.mayContainPlaceholders(baseUrlKey)
+                || CompiledTemplate.mayContainPlaceholders(endpointKey)) {
+            return;
+        }
+        String key = baseUrlKey + '\0' + endpointKey;
+        if (!urls.containsKey(key)) {
+            try {
+                urls.put(key, ConfigManager.resolveUrl(baseUrlKey, endpointKey));
+            } catch (IllegalArgumentException e) {
+                // missing base URL: reported when the row runs
+            }
+        }
+    }
+
+    /**
+     * Keep the template a row uses, if it exists; a missing one is reported
+     * when a row needs it, as it would be without a compiled suite.
+     */
+    private static void readTemplate(String alias, Map<String, String> templates) {
+        if (alias == null || alias.isEmpty() || CompiledTemplate.mayContainPlaceholders(alias)
+                || templates.containsKey(alias)) {
+            return;
+        }
+        try {
+            JsonNode template = JsonTemplateResolver.template(alias);
+            templates.put(alias, MAPPER.writeValueAsString(template));
+        } catch (IllegalStateException e) {
+            // not found
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize JSON template: " + alias, e);
+        }
+    }
+
+    /**
+     * The string table being built: each distinct string once, by id.
+     */
+    private static final class Writer {
+        private final Map<String, Integer> ids = new LinkedHashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        int id(String value) {
+            if (value == null) {
+                return NULL;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = encoded.size();
+                ids.put(value, id);
+                encoded.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return id;
+        }
+
+        void writeStrings(DataOutputStream out) throws IOException {
+            out.writeInt(encoded.size());
+            long offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt((int) offset);
+                offset += bytes.length;
+                if (offset >= Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Compiled suite strings exceed 2 GiB");
+                }
+            }
+            out.writeInt((int) offset);
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * {@code CompiledSuite <csv> <output>}: compile a CSV file on disk, or
+     * a classpath resource, against the current configuration.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CompiledSuite <csv> <output>");
+        }
+        Path csvFile = Paths.get(args[0]);
+        Iterator<TestCaseData> rows = Files.isRegularFile(csvFile)
+                ? MappedCsvLoader.load(csvFile).iterator()
+                : CsvTestDataLoader.iterator(args[0]);
+        compile(rows, Paths.get(args[1]));
+    }
+}
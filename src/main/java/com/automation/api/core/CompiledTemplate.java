@@ -0,0 +1,182 @@
+package com.automation.api.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A string with ${name} / {{name}} placeholders, parsed once into literal
+ * and variable segments.
+ * <p>
+ * Templates are cached by their source string, so rendering the same cell
+ * value again only walks the pre-split segments and never touches a regex.
+ */
+public final class CompiledTemplate {
+
+    /**
+     * Upper bound on cached templates; values beyond it are compiled per call.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 10_000;
+
+    /**
+     * Builders larger than this are not kept around between calls.
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final Map<String, CompiledTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String source;
+    // literals.length == variables.length + 1; literal i precedes variable i
+    private final String[] literals;
+    private final String[] variables;
+
+    private CompiledTemplate(String source, String[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Returns true if the value may contain a placeholder. This is a cheap
+     * pre-check that never allocates.
+     */
+    public static boolean mayContainPlaceholders(String input) {
+        return input != null && (input.contains("${") || input.contains("{{"));
+    }
+
+    /**
+     * Return the cached template for the given source, parsing it on first use.
+     */
+    public static CompiledTemplate compile(String source) {
+        CompiledTemplate cached = CACHE.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        CompiledTemplate template = parse(source);
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+            CompiledTemplate previous = CACHE.putIfAbsent(source, template);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Split the source into segments. Matches the semantics of the pattern
+     * {@code \$\{([^}]+)}|\{\{([^}]+)}}}: a placeholder name is one or more
+     * characters up to the first closing brace.
+     */
+    static CompiledTemplate parse(String source) {
+        List<String> literals = null;
+        List<String> variables = null;
+        int literalStart = 0;
+        int length = source.length();
+        int i = 0;
+        while (i < length - 1) {
+            char c = source.charAt(i);
+            boolean dollar = c == '$' && source.charAt(i + 1) == '{';
+            boolean braces = c == '{' && source.charAt(i + 1) == '{';
+            if (!dollar && !braces) {
+                i++;
+                continue;
+            }
+            int close = source.indexOf('}', i + 2);
+            boolean matched = close > i + 2
+                    && (dollar || (close + 1 < length && source.charAt(close + 1) == '}'));
+            if (!matched) {
+                i++;
+                continue;
+            }
+            if (literals == null) {
+                literals = new ArrayList<>();
+                variables = new ArrayList<>();
+            }
+            literals.add(source.substring(literalStart, i));
+            variables.add(source.substring(i + 2, close));
+            i = dollar ? close + 1 : close + 2;
+            literalStart = i;
+        }
+        if (literals == null) {
+            return new CompiledTemplate(source, new String[]{source}, new String[0]);
+        }
+        literals.add(source.substring(literalStart));
+        return new CompiledTemplate(source,
+                literals.toArray(new String[0]),
+                variables.toArray(new String[0]));
+    }
+
+    /**
+     * Cache a template split ahead of time, e.g. read from a
+     * {@link CompiledSuite}, so that it is not parsed again.
+     */
+    static void preload(String source, String[] literals, String[] variables) {
+        if (literals.length != variables.length + 1) {
+            throw new IllegalArgumentException("Expected one more literal than variables: " + source);
+        }
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+            CACHE.putIfAbsent(source, new CompiledTemplate(source, literals, variables));
+        }
+    }
+
+    String[] literals() {
+        return literals;
+    }
+
+    String[] variables() {
+        return variables;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * True if the source has no placeholders, in which case rendering
+     * returns the source itself.
+     */
+    public boolean isLiteral() {
+        return variables.length == 0;
+    }
+
+    /**
+     * Names of the placeholders referenced by this template, in order.
+     */
+    public List<String> getVariables() {
+        return variables.length == 0
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    /**
+     * Substitute each placeholder with the value returned by the lookup.
+     * Unknown names are replaced with an empty string.
+     */
+    public String render(Function<String, String> lookup) {
+        if (variables.length == 0) {
+            return source;
+        }
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(literals[i]);
+            String value = lookup.apply(variables[i]);
+            if (value != null) {
+                sb.append(value);
+            }
+        }
+        sb.append(literals[variables.length]);
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package com.automation.api.core;
+
+import com.automation.api.model.TestCaseData;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one {@link DataContext} per chain group.
+ * <p>
+ * Rows that set the optional scope column share a context for that scope
+ * name, whose parent is the suite-level root. Rows without a scope use the
+ * root directly, which keeps single-chain CSV files working unchanged.
+ * <p>
+ * Rows passed to {@link #register} are counted per scope, and a scope is
+ * dropped once its last registered row has {@link #complete completed}.
+ * With streamed rows the last row of a scope is only known when every row
+ * has been read, so scopes still running at that point are dropped as they
+ * finish and the others by {@link #allRegistered()}. Values stored in the
+ * root are not scoped and stay for as long as the root does; for
+ * {@link DataContext#global()} that is the life of the JVM.
+ */
+public class ContextScopes {
+
+    private final DataContext root;
+    private final Map<String, DataContext> scopes = new ConcurrentHashMap<>();
+
+    // registered rows per scope that have not completed yet
+    private final Map<String, Integer> pending = new HashMap<>();
+    private boolean allRegistered;
+
+    public ContextScopes(DataContext root) {
+        this.root = root;
+    }
+
+    public DataContext getRoot() {
+        return root;
+    }
+
+    /**
+     * The context a row should read from and store into.
+     */
+    public DataContext contextFor(TestCaseData row) {
+        String scope = row.getScope();
+        if (scope.isEmpty()) {
+            return root;
+        }
+        return scopes.computeIfAbsent(scope, k -> root.child());
+    }
+
+    /**
+     * Count a row that is going to run. Must be called before the row runs.
+     */
+    public synchronized void register(TestCaseData row) {
+        String scope = row.getScope();
+        if (!scope.isEmpty()) {
+            pending.merge(scope, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Mark a registered row as finished, dropping its scope if no other
+     * row of it is left to run.
+     */
+    public synchronized void complete(TestCaseData row) {
+        String scope = row.getScope();
+        Integer left = pending.get(scope);
+        if (left == null) {
+            return;
+        }
+        if (left > 1) {
+            pending.put(scope, left - 1);
+            return;
+        }
+        pending.remove(scope);
+        if (allRegistered) {
+            scopes.remove(scope);
+        }
+    }
+
+    /**
+     * Every row has been registered: drop the scopes with no rows left.
+     */
+    public synchronized void allRegistered() {
+        allRegistered = true;
+        scopes.keySet().removeIf(scope -> !pending.containsKey(scope));
+    }
+}
@@ -1,51 +1,164 @@
 package com.automation.api.core;
 
+import com.automation.api.model.ColumnSchema;
 import com.automation.api.model.TestCaseData;
 import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Loads CSV test data one row at a time.
+ * <p>
+ * Rows are parsed lazily as the caller advances, so only the current row is
+ * held in memory regardless of the size of the file. The header is classified
+ * once into a {@link ColumnSchema}; each row keeps just its values.
+ */
 public class CsvTestDataLoader {
 
+    /**
+     * Fully materialize a CSV file. Prefer {@link #stream(String)} or
+     * {@link #iterator(String)} for large files.
+     */
     public static List<TestCaseData> load(String classpathLocation) {
-        List<TestCaseData> result = new ArrayList<>();
-        try (InputStream is = Thread.currentThread()
+        try (Stream<TestCaseData> rows = stream(classpathLocation)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Stream the rows of a classpath CSV file. The stream must be closed
+     * to release the underlying reader.
+     */
+    public static Stream<TestCaseData> stream(String classpathLocation) {
+        RowIterator iterator = iterator(classpathLocation);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Iterate over the rows of a classpath CSV file. The underlying reader is
+     * closed automatically once the last row has been returned.
+     */
+    public static RowIterator iterator(String classpathLocation) {
+        InputStream is = Thread.currentThread()
                 .getContextClassLoader()
-                .getResourceAsStream(classpathLocation)) {
-            if (is == null) {
-                throw new IllegalStateException("CSV file not found on classpath: " + classpathLocation);
+                .getResourceAsStream(classpathLocation);
+        if (is == null) {
+            throw new IllegalStateException("CSV file not found on classpath: " + classpathLocation);
+        }
+        return new RowIterator(new InputStreamReader(is, StandardCharsets.UTF_8), classpathLocation);
+    }
+
+    /**
+     * Iterate over the rows read from an arbitrary reader, e.g. a file on disk.
+     */
+    public static RowIterator iterator(Reader reader, String sourceName) {
+        return new RowIterator(reader, sourceName);
+    }
+
+    /**
+     * One value per column: missing trailing values are empty, extra ones
+     * are dropped.
+     */
+    static String[] fit(String[] values, ColumnSchema schema) {
+        if (values.length == schema.size()) {
+            return values;
+        }
+        int read = values.length;
+        String[] fitted = Arrays.copyOf(values, schema.size());
+        if (read < fitted.length) {
+            Arrays.fill(fitted, read, fitted.length, "");
+        }
+        return fitted;
+    }
+
+    /**
+     * Lazily reads one CSV record per {@link #next()} call.
+     */
+    public static final class RowIterator implements Iterator<TestCaseData>, Closeable {
+
+        private final CSVReader reader;
+        private final String sourceName;
+        private ColumnSchema schema;
+        private TestCaseData next;
+        private boolean closed;
+
+        private RowIterator(Reader source, String sourceName) {
+            this.reader = new CSVReader(source);
+            this.sourceName = sourceName;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                next = readRow();
             }
-            try (CSVReader reader = new CSVReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-                List<String[]> all = reader.readAll();
-                if (all.isEmpty()) {
-                    return result;
-                }
-                String[] header = all.get(0);
-                for (int i = 1; i < all.size(); i++) {
-                    String[] rowValues = all.get(i);
-                    Map<String, String> row = new HashMap<>();
-                    for (int j = 0; j < header.length; j++) {
-                        String key = header[j];
-                        String value = j < rowValues.length ? rowValues[j] : "";
-                        row.put(key, value);
+            return next != null;
+        }
+
+        @Override
+        public TestCaseData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TestCaseData current = next;
+            next = null;
+            return current;
+        }
+
+        private TestCaseData readRow() {
+            try {
+                if (schema == null) {
+                    String[] header = reader.readNext();
+                    if (header == null) {
+                        close();
+                        return null;
                     }
-                    // Resolve chaining placeholders using DataContext
-                    DataContext.resolveRow(row);
-                    result.add(new TestCaseData(row));
+                    schema = ColumnSchema.of(header);
+                }
+                String[] rowValues = reader.readNext();
+                if (rowValues == null) {
+                    close();
+                    return null;
                 }
+                // Placeholders stay unresolved until the row is executed,
+                // see DataContext.bind
+                return new TestCaseData(schema, fit(rowValues, schema));
+            } catch (IOException | CsvValidationException e) {
+                close();
+                throw new RuntimeException("Failed to read CSV from: " + sourceName, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close CSV: " + sourceName, e);
             }
-        } catch (IOException | CsvException e) {
-            throw new RuntimeException("Failed to read CSV from: " + classpathLocation, e);
         }
-        return result;
     }
 }
-
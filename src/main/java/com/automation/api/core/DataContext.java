@@ -1,63 +1,129 @@
 package com.automation.api.core;
 
+import com.automation.api.model.TestCaseData;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 
 /**
  * Holds data extracted from previous test steps so it can be reused
  * in later rows (API chaining).
+ * <p>
+ * Contexts form a hierarchy: the suite-level {@link #global()} context and
+ * child scopes created from it (see {@link ContextScopes}). Lookups fall back
+ * to the parent when a key is not set locally; writes always go to the
+ * context they are made on, so two scopes storing the same key do not
+ * overwrite each other. A scope that is no longer referenced is simply
+ * garbage-collected.
  */
 public class DataContext {
 
-    private static final Map<String, String> CONTEXT = new ConcurrentHashMap<>();
+    private static final DataContext GLOBAL = new DataContext(null);
+
+    private final DataContext parent;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    private final Function<String, String> lookup = this::get;
+
+    private DataContext(DataContext parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * The suite-level context shared by all rows that do not declare a scope.
+     * It is never dropped, so values stored in it last for the life of the
+     * JVM; rows that should not keep their values declare a scope.
+     */
+    public static DataContext global() {
+        return GLOBAL;
+    }
 
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([^}]+)}|\\{\\{([^}]+)}}");
+    /**
+     * Create a new scope that falls back to this context for unknown keys.
+     */
+    public DataContext child() {
+        return new DataContext(this);
+    }
 
-    private DataContext() {
-        // utility
+    public DataContext getParent() {
+        return parent;
     }
 
-    public static void put(String key, String value) {
+    public void put(String key, String value) {
         if (key != null && value != null) {
-            CONTEXT.put(key, value);
+            values.put(key, value);
         }
     }
 
-    public static String get(String key) {
-        return CONTEXT.get(key);
+    public String get(String key) {
+        String value = values.get(key);
+        if (value == null && parent != null) {
+            return parent.get(key);
+        }
+        return value;
     }
 
-    public static void clear() {
-        CONTEXT.clear();
+    /**
+     * Remove the values stored directly in this context. Parent values are kept.
+     */
+    public void clear() {
+        values.clear();
     }
 
     /**
      * Replace placeholders like ${token} or {{token}} with values
-     * previously stored in the context.
+     * previously stored in the context. Unknown placeholders resolve to
+     * an empty string.
      */
-    public static String resolvePlaceholders(String input) {
-        if (input == null || input.isEmpty()) {
+    public String resolvePlaceholders(String input) {
+        if (!CompiledTemplate.mayContainPlaceholders(input)) {
             return input;
         }
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(input);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String key = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
-            String value = CONTEXT.getOrDefault(key, "");
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
+        return CompiledTemplate.compile(input).render(lookup);
+    }
+
+    /**
+     * Returns true if the value contains a ${...} or {{...}} placeholder.
+     */
+    public static boolean hasPlaceholders(String input) {
+        return CompiledTemplate.mayContainPlaceholders(input)
+                && !CompiledTemplate.compile(input).isLiteral();
+    }
+
+    /**
+     * Bind a loaded row to the values currently held in the context.
+     * <p>
+     * Rows are kept unresolved after loading so that values stored by earlier
+     * rows are visible at execution time. expected_* columns are left as-is;
+     * they are resolved by the validator once the row's own store_* values
+     * have been captured. Rows without placeholders are returned as-is.
+     */
+    public TestCaseData bind(TestCaseData data) {
+        Map<String, String> raw = data.getRaw();
+        boolean needsResolution = false;
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            if (!isExpectation(entry.getKey()) && hasPlaceholders(entry.getValue())) {
+                needsResolution = true;
+                break;
+            }
+        }
+        if (!needsResolution) {
+            return data;
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return data.withValues((k, v) -> v == null || isExpectation(k) ? v : resolvePlaceholders(v));
     }
 
     /**
      * Apply placeholder resolution for each value in a row.
      */
-    public static Map<String, String> resolveRow(Map<String, String> row) {
+    public Map<String, String> resolveRow(Map<String, String> row) {
         row.replaceAll((k, v) -> v == null ? null : resolvePlaceholders(v));
         return row;
     }
-}
 
+    private static boolean isExpectation(String column) {
+        return column != null && column.trim().startsWith("expected_");
+    }
+}
@@ -0,0 +1,130 @@
+package com.automation.api.core;
+
+import com.automation.api.model.TestCaseData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders CSV rows by the chaining variables they produce and consume so
+ * that independent rows can run concurrently.
+ * <p>
+ * Rows are registered in file order. A row waits for:
+ * - the latest earlier row that stores a variable it references (${var} / {{var}})
+ * - when it stores a variable itself, the previous producer of that variable
+ *   and every row that read the previous value, so a value is never
+ *   overwritten while someone still needs it.
+ * Rows with no such relations never wait. The dependency graph is built
+ * incrementally, so it works with streamed rows and only keeps the latest
+ * producer and pending readers per variable.
+ * <p>
+ * Variables are tracked per scope (see {@link ContextScopes}): a scoped row
+ * reads its scope's value when a row of the same scope stores it, and the
+ * suite-level value otherwise.
+ */
+public class DependencyScheduler {
+
+    private final Map<String, CompletableFuture<Void>> lastProducer = new HashMap<>();
+    private final Map<String, List<CompletableFuture<Void>>> readers = new HashMap<>();
+    private final Map<TestCaseData, Node> nodes = new ConcurrentHashMap<>();
+
+    private static final class Node {
+        private final CompletableFuture<Void> ready;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Node(CompletableFuture<Void> ready) {
+            this.ready = ready;
+        }
+    }
+
+    /**
+     * Register a row. Must be called in file order, before the row runs.
+     */
+    public synchronized void register(TestCaseData row) {
+        String scope = row.getScope();
+        Set<String> consumed = new LinkedHashSet<>();
+        for (String var : consumedVariables(row)) {
+            String key = qualify(scope, var);
+            consumed.add(scope.isEmpty() || lastProducer.containsKey(key) ? key : qualify("", var));
+        }
+        Set<String> produced = new LinkedHashSet<>();
+        for (String var : row.getStoreFields().keySet()) {
+            produced.add(qualify(scope, var));
+        }
+
+        Set<CompletableFuture<Void>> deps = new LinkedHashSet<>();
+        for (String var : consumed) {
+            CompletableFuture<Void> producer = lastProducer.get(var);
+            if (producer != null) {
+                deps.add(producer);
+            }
+        }
+        for (String var : produced) {
+            CompletableFuture<Void> producer = lastProducer.get(var);
+            if (producer != null) {
+                deps.add(producer);
+            }
+            deps.addAll(readers.getOrDefault(var, List.of()));
+        }
+        deps.removeIf(CompletableFuture::isDone);
+
+        Node node = new Node(deps.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(deps.toArray(new CompletableFuture<?>[0])));
+        nodes.put(row, node);
+
+        for (String var : consumed) {
+            List<CompletableFuture<Void>> pending = readers.computeIfAbsent(var, k -> new ArrayList<>());
+            pending.removeIf(CompletableFuture::isDone);
+            pending.add(node.done);
+        }
+        for (String var : produced) {
+            lastProducer.put(var, node.done);
+            readers.remove(var);
+        }
+    }
+
+    /**
+     * Block until every row this row depends on has finished, whether it
+     * passed or failed. Rows that were never registered do not wait.
+     */
+    public void awaitDependencies(TestCaseData row) {
+        Node node = nodes.get(row);
+        if (node != null) {
+            node.ready.join();
+        }
+    }
+
+    /**
+     * Mark a row as finished, releasing the rows waiting on it.
+     */
+    public void complete(TestCaseData row) {
+        Node node = nodes.remove(row);
+        if (node != null) {
+            node.done.complete(null);
+        }
+    }
+
+    private static String qualify(String scope, String var) {
+        return scope.isEmpty() ? var : scope + '\u0000' + var;
+    }
+
+    /**
+     * Names of all placeholders referenced anywhere in the row.
+     */
+    static Set<String> consumedVariables(TestCaseData row) {
+        Set<String> vars = new LinkedHashSet<>();
+        for (String value : row.getRaw().values()) {
+            if (CompiledTemplate.mayContainPlaceholders(value)) {
+                vars.addAll(CompiledTemplate.compile(value).getVariables());
+            }
+        }
+        return vars;
+    }
+}
@@ -0,0 +1,132 @@
+package com.automation.api.core;
+
+import com.automation.api.config.ConfigManager;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled, keep-alive HTTP client per base URL key, shared by every row
+ * that targets that base URL.
+ * <p>
+ * Settings are read from config.properties, per base_url_key with a global
+ * fallback, e.g. for base_url_key "echo":
+ * - http.echo.maxTotal / http.maxTotal: connections in total (default 200)
+ * - http.echo.maxPerRoute / http.maxPerRoute: connections per host (default 50)
+ * - http.echo.connectTimeoutMs / http.connectTimeoutMs: default 10000
+ * - http.echo.socketTimeoutMs / http.socketTimeoutMs: default 30000
+ * - http.echo.keepAliveMs / http.keepAliveMs: max idle reuse of a connection,
+ *   capped by the server's Keep-Alive header (default 30000)
+ * - http.echo.connectionTtlMs / http.connectionTtlMs: max lifetime of a
+ *   connection, busy or not, after which it is not reused; 0 for no limit
+ *   (the default)
+ * <p>
+ * A connection goes back to its pool only once the response body has been
+ * read to the end (or the stream closed). {@link RequestBuilder.BuiltRequest#execute()}
+ * does that for every request, whether or not anything looks at the body;
+ * a response left unread keeps its connection leased, and once maxPerRoute
+ * are leased further requests wait for http.connectTimeoutMs and fail.
+ * <p>
+ * The clients report DNS, connect and time-to-first-byte phases to
+ * {@link RequestTiming}.
+ */
+public final class HttpClientPool {
+
+    private static final Map<String, Pool> POOLS = new ConcurrentHashMap<>();
+
+    private HttpClientPool() {
+    }
+
+    // REST Assured 5 only accepts the HttpClient 4 AbstractHttpClient API,
+    // deprecated in favour of HttpClientBuilder, which it cannot use
+    @SuppressWarnings("deprecation")
+    private static final class Pool {
+        private final PoolingClientConnectionManager connections;
+        private final RestAssuredConfig config;
+
+        private Pool(String baseUrlKey) {
+            int maxTotal = intSetting(baseUrlKey, "maxTotal", 200);
+            int maxPerRoute = intSetting(baseUrlKey, "maxPerRoute", 50);
+            int connectTimeout = intSetting(baseUrlKey, "connectTimeoutMs", 10_000);
+            int socketTimeout = intSetting(baseUrlKey, "socketTimeoutMs", 30_000);
+            long keepAlive = intSetting(baseUrlKey, "keepAliveMs", 30_000);
+            long connectionTtl = intSetting(baseUrlKey, "connectionTtlMs", 0);
+
+            // DNS and connect times are picked up for RequestTiming
+            connections = new PoolingClientConnectionManager(
+                    SchemeRegistryFactory.createDefault(), connectionTtl, TimeUnit.MILLISECONDS,
+                    RequestTiming.TimedDnsResolver.INSTANCE) {
+                @Override
+                protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+                    return new RequestTiming.TimedConnectionOperator(schemes);
+                }
+            };
+            connections.setMaxTotal(maxTotal);
+            connections.setDefaultMaxPerRoute(maxPerRoute);
+
+            DefaultHttpClient client = new DefaultHttpClient(connections) {
+                @Override
+                protected HttpRequestExecutor createRequestExecutor() {
+                    return new RequestTiming.TimedRequestExecutor();
+                }
+            };
+            client.setKeepAliveStrategy((response, context) -> {
+                long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return advertised < 0 ? keepAlive : Math.min(advertised, keepAlive);
+            });
+
+            // REST Assured applies these params to the client on every request
+            HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                    .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeout)
+                    .setParam(CoreConnectionPNames.SO_TIMEOUT, socketTimeout)
+                    .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, (long) connectTimeout)
+                    .httpClientFactory(() -> client)
+                    .reuseHttpClientInstance();
+            config = RestAssured.config().httpClient(httpClientConfig);
+        }
+    }
+
+    /**
+     * REST Assured configuration bound to the shared client for a base URL key.
+     */
+    public static RestAssuredConfig configFor(String baseUrlKey) {
+        return POOLS.computeIfAbsent(baseUrlKey, Pool::new).config;
+    }
+
+    /**
+     * Current pool statistics (leased, pending, available, max) per base URL key.
+     */
+    public static Map<String, PoolStats> stats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        POOLS.forEach((key, pool) -> stats.put(key, pool.connections.getTotalStats()));
+        return stats;
+    }
+
+    /**
+     * Close idle connections and release all pools.
+     */
+    public static void shutdown() {
+        POOLS.values().forEach(pool -> pool.connections.shutdown());
+        POOLS.clear();
+    }
+
+    private static int intSetting(String baseUrlKey, String name, int defaultValue) {
+        String fallback = ConfigManager.getOrDefault("http." + name, String.valueOf(defaultValue));
+        return Integer.parseInt(ConfigManager.getOrDefault("http." + baseUrlKey + "." + name, fallback));
+    }
+}
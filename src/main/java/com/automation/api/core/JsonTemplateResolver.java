@@ -1,13 +1,22 @@
 package com.automation.api.core;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Resolves JSON templates from resources and applies overrides based on request_ fields.
@@ -16,11 +25,25 @@ import java.util.Map;
  * - body_template column contains alias, e.g. "createCredit"
  * - request_* columns represent JSON field paths, e.g. request_user.id, request_amount
  *   which will be applied into the JSON template.
+ *
+ * Templates are read and parsed once per alias and shared read-only. Each
+ * request works on a copy-on-write view: only the objects along an
+ * overridden path are copied, every other subtree is shared with the
+ * cached template.
+ *
+ * {@link #writeBody} and {@link #buildBodyBytes} skip the intermediate tree
+ * entirely and merge template and overrides straight into a JsonGenerator.
  */
 public class JsonTemplateResolver {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    // alias -> parsed template root, never mutated once cached
+    private static final Map<String, ObjectNode> TEMPLATES = new ConcurrentHashMap<>();
+
+    // request_ column suffix (e.g. "user.id") -> pre-split path segments
+    private static final Map<String, String[]> PATHS = new ConcurrentHashMap<>();
+
     private JsonTemplateResolver() {
     }
 
@@ -35,6 +58,157 @@ public class JsonTemplateResolver {
                 throw new RuntimeException("Failed to serialize simple JSON body", e);
             }
         }
+        ObjectNode template = template(templateAlias);
+        ObjectNode root = applyOverrides(template, requestFields);
+        try {
+            return MAPPER.writeValueAsString(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize JSON template: " + templateAlias, e);
+        }
+    }
+
+    /**
+     * Build the request body as UTF-8 bytes without creating an intermediate
+     * tree or String. Output is identical to {@link #buildBody}.
+     */
+    public static byte[] buildBodyBytes(String templateAlias, Map<String, String> requestFields) {
+        BufferRecycler recycler = MAPPER.getFactory()._getBufferRecycler();
+        try {
+            ByteArrayBuilder buffer = new ByteArrayBuilder(recycler);
+            writeBody(templateAlias, requestFields, buffer);
+            return buffer.getClearAndRelease();
+        } finally {
+            recycler.releaseToPool();
+        }
+    }
+
+    /**
+     * Stream the request body to the given output. The cached template is
+     * walked once and overridden fields are substituted as they are written.
+     * The output stream is flushed but not closed.
+     */
+    public static void writeBody(String templateAlias, Map<String, String> requestFields, OutputStream out) {
+        try (JsonGenerator gen = MAPPER.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (templateAlias == null || templateAlias.isEmpty()) {
+                // no template, simply write a flat JSON object from request fields
+                gen.writeStartObject();
+                for (Map.Entry<String, String> entry : requestFields.entrySet()) {
+                    gen.writeStringField(entry.getKey(), entry.getValue());
+                }
+                gen.writeEndObject();
+            } else {
+                writeMerged(gen, template(templateAlias), overrideTree(requestFields));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write JSON body for template: " + templateAlias, e);
+        }
+    }
+
+    /**
+     * Write a template object with the overrides applied. A null template
+     * means the overrides replace whatever the template had at this level.
+     */
+    private static void writeMerged(JsonGenerator gen, ObjectNode template, Overrides overrides) throws IOException {
+        gen.writeStartObject();
+        if (template != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields = template.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String name = field.getKey();
+                Object override = overrides.children.get(name);
+                if (override == null) {
+                    gen.writeFieldName(name);
+                    gen.writeTree(field.getValue());
+                } else {
+                    writeOverride(gen, name, override, field.getValue());
+                }
+            }
+        }
+        for (Map.Entry<String, Object> entry : overrides.children.entrySet()) {
+            if (template == null || !template.has(entry.getKey())) {
+                writeOverride(gen, entry.getKey(), entry.getValue(), null);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeOverride(JsonGenerator gen, String name, Object override, JsonNode templateValue)
+            throws IOException {
+        if (override instanceof String value) {
+            gen.writeStringField(name, value);
+            return;
+        }
+        Overrides nested = (Overrides) override;
+        gen.writeFieldName(name);
+        boolean merge = !nested.replacesTemplate && templateValue instanceof ObjectNode;
+        writeMerged(gen, merge ? (ObjectNode) templateValue : null, nested);
+    }
+
+    /**
+     * Fold the dotted request_ paths into a small tree with the same
+     * last-write-wins semantics as applying them one by one to the template.
+     */
+    private static Overrides overrideTree(Map<String, String> requestFields) {
+        Overrides root = new Overrides(false);
+        for (Map.Entry<String, String> entry : requestFields.entrySet()) {
+            String value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            String[] parts = splitPath(entry.getKey());
+            Overrides current = root;
+            for (int i = 0; i < parts.length - 1; i++) {
+                Object child = current.children.get(parts[i]);
+                if (!(child instanceof Overrides)) {
+                    // a value set earlier on this path is replaced by a fresh object
+                    child = new Overrides(child != null);
+                    current.children.put(parts[i], child);
+                }
+                current = (Overrides) child;
+            }
+            current.children.put(parts[parts.length - 1], value);
+        }
+        return root;
+    }
+
+    /**
+     * Override values (String) and nested overrides keyed by field name.
+     */
+    private static final class Overrides {
+        private final Map<String, Object> children = new LinkedHashMap<>();
+        // true if this object replaces, rather than merges into, the template value
+        private final boolean replacesTemplate;
+
+        private Overrides(boolean replacesTemplate) {
+            this.replacesTemplate = replacesTemplate;
+        }
+    }
+
+    /**
+     * Return the cached, parsed template for an alias, loading it from the
+     * classpath on first use. The returned node must not be modified.
+     */
+    static ObjectNode template(String templateAlias) {
+        return TEMPLATES.computeIfAbsent(templateAlias, JsonTemplateResolver::readTemplate);
+    }
+
+    /**
+     * Use an already parsed template for an alias, e.g. one read from a
+     * {@link CompiledSuite}, instead of reading it from the classpath.
+     */
+    static void preload(String templateAlias, ObjectNode template) {
+        TEMPLATES.put(templateAlias, template);
+    }
+
+    /**
+     * Drop all cached templates, e.g. after templates changed on disk.
+     */
+    public static void clearCache() {
+        TEMPLATES.clear();
+    }
+
+    private static ObjectNode readTemplate(String templateAlias) {
         String resourcePath = "json-templates/" + templateAlias + ".json";
         try (InputStream is = Thread.currentThread()
                 .getContextClassLoader()
@@ -46,29 +220,40 @@ public class JsonTemplateResolver {
             if (!(root instanceof ObjectNode objectNode)) {
                 throw new IllegalStateException("JSON template must be an object at root: " + resourcePath);
             }
-            applyOverrides(objectNode, requestFields);
-            return MAPPER.writeValueAsString(objectNode);
+            return objectNode;
         } catch (IOException e) {
-            throw new RuntimeException("Failed to read/modify JSON template: " + resourcePath, e);
+            throw new RuntimeException("Failed to read JSON template: " + resourcePath, e);
         }
     }
 
-    private static void applyOverrides(ObjectNode root, Map<String, String> requestFields) {
+    /**
+     * Apply the overrides to a copy-on-write view of the template and return
+     * the new root. The template itself is left untouched.
+     */
+    private static ObjectNode applyOverrides(ObjectNode template, Map<String, String> requestFields) {
+        ObjectNode root = MAPPER.createObjectNode().setAll(template);
+        Set<JsonNode> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        copied.add(root);
         for (Map.Entry<String, String> entry : requestFields.entrySet()) {
-            String path = entry.getKey();
             String value = entry.getValue();
             if (value == null) {
                 continue;
             }
-            setPath(root, path, value);
+            setPath(root, splitPath(entry.getKey()), value, copied);
         }
+        return root;
+    }
+
+    static String[] splitPath(String path) {
+        return PATHS.computeIfAbsent(path, p -> p.split("\\."));
     }
 
     /**
      * Apply a simple dotted-path override, e.g. "user.id" or "amount".
+     * Objects on the path that are still shared with the template are
+     * shallow-copied before being modified.
      */
-    private static void setPath(ObjectNode root, String path, String value) {
-        String[] parts = path.split("\\.");
+    private static void setPath(ObjectNode root, String[] parts, String value, Set<JsonNode> copied) {
         ObjectNode current = root;
         for (int i = 0; i < parts.length; i++) {
             String part = parts[i];
@@ -76,10 +261,17 @@ public class JsonTemplateResolver {
                 current.put(part, value);
             } else {
                 JsonNode child = current.get(part);
+                ObjectNode next;
                 if (child == null || !child.isObject()) {
-                    child = current.putObject(part);
+                    next = current.putObject(part);
+                } else if (copied.contains(child)) {
+                    next = (ObjectNode) child;
+                } else {
+                    next = MAPPER.createObjectNode().setAll((ObjectNode) child);
+                    current.set(part, next);
                 }
-                current = (ObjectNode) child;
+                copied.add(next);
+                current = next;
             }
         }
     }
@@ -0,0 +1,148 @@
+package com.automation.api.core;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request latency histograms, one per HTTP method and endpoint alias
+ * (e.g. "POST createUser").
+ * <p>
+ * Recording is wait-free ({@link Recorder}), so it is safe on the request
+ * path from any number of threads. Values are nanoseconds with 3 significant
+ * digits; histograms resize themselves, so there is no upper bound to set.
+ * Totals are accumulated only when read.
+ */
+public final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final Map<String, Series> SERIES = new ConcurrentHashMap<>();
+
+    private static volatile long startMillis = System.currentTimeMillis();
+
+    private LatencyRecorder() {
+    }
+
+    private static final class Series {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        private synchronized Histogram snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return total.copy();
+        }
+    }
+
+    public static void record(String method, String endpoint, long nanos) {
+        SERIES.computeIfAbsent(key(method, endpoint), k -> new Series()).recorder.recordValue(Math.max(nanos, 0));
+    }
+
+    public static String key(String method, String endpoint) {
+        return method + " " + endpoint;
+    }
+
+    /**
+     * Everything recorded since the last {@link #reset()}, per key, sorted by key.
+     */
+    public static Map<String, Histogram> snapshot() {
+        Map<String, Histogram> out = new TreeMap<>();
+        SERIES.forEach((key, series) -> out.put(key, series.snapshot()));
+        return out;
+    }
+
+    public static void reset() {
+        SERIES.clear();
+        startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Write every histogram to an HdrHistogram log (readable with
+     * HistogramLogReader or HistogramLogAnalyzer), one tagged entry per key
+     * covering the whole run. The max column is in milliseconds.
+     */
+    public static void writeLog(Path path) throws IOException {
+        writeLog(path, snapshot(), startMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Write the given histograms as one log entry each, covering
+     * startMillis to endMillis, in the format of {@link #writeLog(Path)}.
+     */
+    public static void writeLog(Path path, Map<String, Histogram> histograms, long startMillis, long endMillis)
+            throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path), false, "UTF-8")) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("Request latency per method and endpoint alias, values in nanoseconds");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.setBaseTime(startMillis);
+            writer.outputLegend();
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue().copy();
+                histogram.setTag(entry.getKey().replaceAll("[\\s,]+", ":"));
+                writer.outputIntervalHistogram(0, (endMillis - startMillis) / 1000.0, histogram, 1e6);
+            }
+        }
+    }
+
+    /**
+     * Add the histograms of a log written by {@link #writeLog} to the given
+     * map, summing entries with the same key, e.g. to merge the logs of
+     * several shards. Returns the log's start time in milliseconds.
+     * <p>
+     * Keys come back as "METHOD endpoint"; spaces and commas inside the
+     * endpoint label read back as ':'.
+     */
+    public static long readLog(Path path, Map<String, Histogram> into) throws IOException {
+        HistogramLogReader reader = new HistogramLogReader(path.toFile());
+        try {
+            EncodableHistogram next;
+            while ((next = reader.nextIntervalHistogram()) != null) {
+                if (!(next instanceof Histogram histogram)) {
+                    continue;
+                }
+                String tag = histogram.getTag() == null ? "" : histogram.getTag();
+                int split = tag.indexOf(':');
+                String key = split < 0 ? tag : tag.substring(0, split) + ' ' + tag.substring(split + 1);
+                into.computeIfAbsent(key, k -> new Histogram(SIGNIFICANT_DIGITS)).add(histogram);
+            }
+            return (long) (reader.getStartTimeSec() * 1000);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * One-line percentile summary in milliseconds.
+     */
+    public static String describe(Histogram histogram) {
+        return String.format("n=%d p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f ms",
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    public static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
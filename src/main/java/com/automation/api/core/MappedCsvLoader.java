@@ -0,0 +1,295 @@
+package com.automation.api.core;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.model.ColumnSchema;
+import com.automation.api.model.TestCaseData;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads a CSV file from disk in parallel, for data sets too large to parse
+ * on one thread.
+ * <p>
+ * The file is memory-mapped in chunks of about csv.mappedChunkBytes. A first
+ * parallel pass counts the quotes in each chunk and notes its first line
+ * break outside and inside a quoted field; with the running quote parity
+ * that gives, for each chunk, the first line break that really ends a row.
+ * The chunks are then cut there and parsed on a fork-join pool, each with
+ * its own OpenCSV reader, against the header's shared {@link ColumnSchema}.
+ * Rows come back in file order, so chained rows still see each other's
+ * stored values in sequence.
+ * <p>
+ * Finding the boundaries assumes quotes inside fields are doubled, as RFC
+ * 4180 and spreadsheets write them. OpenCSV, like {@link CsvTestDataLoader},
+ * also reads \" as an escaped quote, which counting quotes cannot tell
+ * apart; so a file with a backslash right before a quote, or whose quotes
+ * do not pair up, is read on one thread by {@link CsvTestDataLoader} instead.
+ */
+public class MappedCsvLoader {
+
+    private static final long ESCAPED_QUOTE = -2;
+
+    private static final long CHUNK_BYTES =
+            Long.parseLong(ConfigManager.getOrDefault("csv.mappedChunkBytes", "8388608"));
+
+    private MappedCsvLoader() {
+    }
+
+    public static List<TestCaseData> load(Path file) {
+        return load(file, ForkJoinPool.commonPool(), CHUNK_BYTES);
+    }
+
+    /**
+     * Load with the given pool and chunk size; chunks must be smaller than
+     * 2 GiB so that each can be mapped in one buffer.
+     */
+    public static List<TestCaseData> load(Path file, ForkJoinPool pool, long chunkBytes) {
+        if (chunkBytes < 1 || chunkBytes >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 byte and 2 GiB: " + chunkBytes);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long headerEnd = headerEnd(channel, size, chunkBytes);
+            if (headerEnd == ESCAPED_QUOTE) {
+                return sequential(file);
+            }
+            if (headerEnd < 0) {
+                return new ArrayList<>();
+            }
+            String[] header = parse(channel, 0, headerEnd, file).get(0);
+            ColumnSchema schema = ColumnSchema.of(header);
+
+            long[] starts = rowBoundaries(channel, headerEnd, size, chunkBytes, pool);
+            if (starts == null) {
+                return sequential(file);
+            }
+            List<ForkJoinTask<List<TestCaseData>>> tasks = new ArrayList<>(starts.length);
+            for (int i = 0; i < starts.length; i++) {
+                long start = starts[i];
+                long end = i + 1 < starts.length ? starts[i + 1] : size;
+                tasks.add(pool.submit(() -> rows(schema, parse(channel, start, end, file))));
+            }
+            List<TestCaseData> rows = new ArrayList<>();
+            RuntimeException failure = null;
+            for (ForkJoinTask<List<TestCaseData>> task : tasks) {
+                // join them all before the channel closes, even after a failure
+                try {
+                    List<TestCaseData> chunk = task.join();
+                    if (failure == null) {
+                        rows.addAll(chunk);
+                    }
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV: " + file, e);
+        }
+    }
+
+    /**
+     * Quote counts and candidate row ends found in one chunk.
+     */
+    private static final class Scan {
+        long quotes;
+        /** First line break preceded by an even number of quotes in the chunk, or -1. */
+        long evenBreak = -1;
+        /** First line break preceded by an odd number of quotes in the chunk, or -1. */
+        long oddBreak = -1;
+        /** A backslash right before a quote, within the chunk. */
+        boolean escapedQuote;
+        byte first;
+        byte last;
+    }
+
+    /**
+     * Offsets where parsing can start: just after the header, then just
+     * after the first row end in each later chunk that has one. Null if the
+     * quotes do not pair up or a quote may be backslash-escaped.
+     */
+    private static long[] rowBoundaries(FileChannel channel, long from, long size, long chunkBytes,
+                                        ForkJoinPool pool) throws IOException {
+        List<ForkJoinTask<Scan>> scans = new ArrayList<>();
+        for (long start = from; start < size; start += chunkBytes) {
+            long chunkStart = start;
+            long chunkEnd = Math.min(size, start + chunkBytes);
+            scans.add(pool.submit(() -> scan(channel, chunkStart, chunkEnd)));
+        }
+        // wait for every scan, even when giving up early: none may still be
+        // reading the mapping once this returns
+        List<Scan> results = new ArrayList<>(scans.size());
+        for (ForkJoinTask<Scan> scan : scans) {
+            results.add(scan.join());
+        }
+        List<Long> starts = new ArrayList<>();
+        starts.add(from);
+        long quotes = 0;
+        byte previous = 0;
+        for (int i = 0; i < results.size(); i++) {
+            Scan scan = results.get(i);
+            if (scan.escapedQuote || (previous == '\\' && scan.first == '"')) {
+                return null;
+            }
+            previous = scan.last;
+            // the first chunk starts on a row already; a later chunk without
+            // a row end belongs to the row the chunk before it started
+            long rowEnd = (quotes & 1) == 0 ? scan.evenBreak : scan.oddBreak;
+            if (i > 0 && rowEnd >= 0 && rowEnd + 1 < size) {
+                starts.add(rowEnd + 1);
+            }
+            quotes += scan.quotes;
+        }
+        if ((quotes & 1) != 0) {
+            return null;
+        }
+        return starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Scan scan(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        Scan scan = new Scan();
+        long quotes = 0;
+        int limit = buffer.limit();
+        byte previous = 0;
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                quotes++;
+                if (previous == '\\') {
+                    scan.escapedQuote = true;
+                    break;
+                }
+            } else if (b == '\n') {
+                if ((quotes & 1) == 0) {
+                    if (scan.evenBreak < 0) {
+                        scan.evenBreak = start + i;
+                    }
+                } else if (scan.oddBreak < 0) {
+                    scan.oddBreak = start + i;
+                }
+            }
+            previous = b;
+        }
+        if (limit > 0) {
+            scan.first = buffer.get(0);
+            scan.last = buffer.get(limit - 1);
+        }
+        scan.quotes = quotes;
+        return scan;
+    }
+
+    /**
+     * Offset just after the header row, -1 if the file has no header, or
+     * ESCAPED_QUOTE if a quote in it may be backslash-escaped.
+     */
+    private static long headerEnd(FileChannel channel, long size, long chunkBytes) throws IOException {
+        long quotes = 0;
+        byte previous = 0;
+        for (long start = 0; start < size; start += chunkBytes) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(chunkBytes, size - start));
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    if (previous == '\\') {
+                        return ESCAPED_QUOTE;
+                    }
+                    quotes++;
+                } else if (b == '\n' && (quotes & 1) == 0) {
+                    return start + i + 1;
+                }
+                previous = b;
+            }
+        }
+        return size == 0 ? -1 : size;
+    }
+
+    private static List<TestCaseData> sequential(Path file) throws IOException {
+        List<TestCaseData> rows = new ArrayList<>();
+        CsvTestDataLoader.iterator(Files.newBufferedReader(file, StandardCharsets.UTF_8), file.toString())
+                .forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static List<String[]> parse(FileChannel channel, long start, long end, Path file) {
+        List<String[]> records = new ArrayList<>();
+        if (end <= start) {
+            return records;
+        }
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            try (CSVReader reader = new CSVReader(new InputStreamReader(
+                    new ByteBufferInputStream(buffer), StandardCharsets.UTF_8))) {
+                String[] record;
+                while ((record = reader.readNext()) != null) {
+                    records.add(record);
+                }
+            }
+            return records;
+        } catch (IOException | CsvValidationException e) {
+            throw new RuntimeException("Failed to read CSV from: " + file + " at byte " + start, e);
+        }
+    }
+
+    private static List<TestCaseData> rows(ColumnSchema schema, List<String[]> records) {
+        List<TestCaseData> rows = new ArrayList<>(records.size());
+        for (String[] record : records) {
+            rows.add(new TestCaseData(schema, CsvTestDataLoader.fit(record, schema)));
+        }
+        return rows;
+    }
+
+    /**
+     * Reads a mapped chunk without copying it onto the heap first.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
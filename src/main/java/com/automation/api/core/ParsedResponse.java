@@ -0,0 +1,226 @@
+package com.automation.api.core;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.model.TestCaseData;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.http.Headers;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * A response read once and shared by chaining, validation, logging and
+ * reporting.
+ * <p>
+ * The body bytes are read when the response arrives. The decoded String
+ * and the parsed JSON are derived on first use and cached, so a row that
+ * never looks at the body never decodes it, and one that checks several
+ * paths parses it once. Not thread-safe; a response belongs to one row.
+ * <p>
+ * Responses larger than response.streamThresholdBytes (Content-Length), or
+ * any response of a row with stream_response=true, are streamed instead:
+ * the row's JSON paths are answered in one pass without keeping the body
+ * (see {@link StreamingJsonExtractor}), and the body itself is not available.
+ */
+public class ParsedResponse {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // exact decimals, so CompiledJsonPath can round them the way JsonPath does
+    private static final ObjectMapper TREE_MAPPER = new ObjectMapper(JSON)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private static final long STREAM_THRESHOLD_BYTES =
+            Long.parseLong(ConfigManager.getOrDefault("response.streamThresholdBytes", "16777216"));
+
+    private final Response response;
+    private final byte[] body;
+    private final StreamingJsonExtractor.Result streamed;
+    private String bodyString;
+    private JsonPath jsonPath;
+    private JsonNode jsonTree;
+    private boolean jsonTreeParsed;
+
+    public ParsedResponse(Response response) {
+        this.response = response;
+        this.body = response.getBody().asByteArray();
+        this.streamed = null;
+    }
+
+    private ParsedResponse(Response response, StreamingJsonExtractor.Result streamed) {
+        this.response = response;
+        this.body = null;
+        this.streamed = streamed;
+    }
+
+    /**
+     * Read the response for the given row, streaming it if it is large or
+     * the row asks for it.
+     */
+    public static ParsedResponse read(Response response, TestCaseData data) {
+        long length = contentLength(response);
+        if (!data.isStreamResponse() && (length < 0 || length <= STREAM_THRESHOLD_BYTES)) {
+            return new ParsedResponse(response);
+        }
+        StreamingJsonExtractor.Result result;
+        try (InputStream in = response.getBody().asInputStream()) {
+            boolean json = response.getContentType() != null
+                    && response.getContentType().contains("application/json");
+            // closing drains whatever was not parsed, so the connection can be reused
+            result = StreamingJsonExtractor.extract(in, json ? StreamingJsonExtractor.pathsFor(data) : Set.of());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read streamed response", e);
+        }
+        return new ParsedResponse(response, result);
+    }
+
+    private static long contentLength(Response response) {
+        String header = response.getHeader("Content-Length");
+        try {
+            return header == null ? -1 : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * True if the body was streamed and not kept; only the row's own JSON
+     * paths can be read.
+     */
+    public boolean isStreamed() {
+        return streamed != null;
+    }
+
+    /**
+     * The underlying REST Assured response, for anything not covered here.
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    public String getContentType() {
+        return response.getContentType();
+    }
+
+    public Headers getHeaders() {
+        return response.getHeaders();
+    }
+
+    /**
+     * True if the server declared the body as JSON.
+     */
+    public boolean isJson() {
+        String contentType = getContentType();
+        return contentType != null && contentType.contains("application/json");
+    }
+
+    /**
+     * The body, or null if it was streamed.
+     */
+    public byte[] getBodyBytes() {
+        return body;
+    }
+
+    /**
+     * The body decoded with the response charset, cached after the first
+     * call. For a streamed response, a short note in place of the body.
+     */
+    public String getBodyString() {
+        if (bodyString == null) {
+            bodyString = streamed != null
+                    ? "[streamed response of " + describeLength() + ", body not kept]"
+                    : response.getBody().asString();
+        }
+        return bodyString;
+    }
+
+    private String describeLength() {
+        long length = contentLength(response);
+        return length >= 0 ? length + " bytes" : "unknown length";
+    }
+
+    /**
+     * JsonPath over the body, created on first use. The JSON itself is
+     * parsed on the first lookup and shared by all later ones.
+     */
+    public JsonPath getJsonPath() {
+        if (streamed != null) {
+            throw new IllegalStateException("Response was streamed; JsonPath over the whole body is not available");
+        }
+        if (jsonPath == null) {
+            jsonPath = new JsonPath(getBodyString());
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Jackson tree of the body, parsed on first use; null if the body is
+     * empty, not valid JSON, or streamed.
+     */
+    public JsonNode getJsonTree() {
+        if (!jsonTreeParsed && streamed == null) {
+            jsonTreeParsed = true;
+            try {
+                JsonNode tree = TREE_MAPPER.readTree(body);
+                jsonTree = tree == null || tree.isMissingNode() ? null : tree;
+            } catch (IOException e) {
+                jsonTree = null;
+            }
+        }
+        return jsonTree;
+    }
+
+    /**
+     * Value at a JSON path, with the same result JsonPath.get would give.
+     * Plain paths are answered from {@link #getJsonTree()} (see
+     * {@link CompiledJsonPath}); the JSON is parsed once either way. For a
+     * streamed response only the row's own paths are available.
+     */
+    public Object read(String path) {
+        if (streamed != null) {
+            return streamed.get(path);
+        }
+        return CompiledJsonPath.compile(path).read(this);
+    }
+
+    /**
+     * The body pretty-printed if it is JSON, otherwise as is. Streams tokens
+     * straight to the output without building a tree and stops shortly
+     * after maxChars, so only the part that will be shown is formatted.
+     */
+    public String prettyBody(int maxChars) {
+        String text = getBodyString();
+        String trimmed = text.trim();
+        if (streamed != null || !(trimmed.startsWith("{") || trimmed.startsWith("["))) {
+            return text;
+        }
+        StringWriter out = new StringWriter(Math.min(text.length(), maxChars) + 64);
+        try (JsonParser parser = JSON.createParser(body);
+             JsonGenerator generator = JSON.createGenerator(out).useDefaultPrettyPrinter()) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+                if (out.getBuffer().length() > maxChars) {
+                    break;
+                }
+                generator.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            return text;
+        }
+        return out.toString();
+    }
+}
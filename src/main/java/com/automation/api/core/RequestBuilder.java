@@ -2,9 +2,11 @@ package com.automation.api.core;
 
 import com.automation.api.config.ConfigManager;
 import com.automation.api.model.TestCaseData;
+import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.RestAssured;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -16,13 +18,23 @@ public class RequestBuilder {
         private final String url;
         private final String method;
         private final RequestSpecification spec;
-        private final String body;
+        private final byte[] body;
+        private final TestCaseData data;
+        private final String endpointLabel;
+        private RequestTiming timing;
 
-        public BuiltRequest(String url, String method, RequestSpecification spec, String body) {
+        public BuiltRequest(String url, String method, RequestSpecification spec, byte[] body, TestCaseData data) {
+            this(url, method, spec, body, data, endpointLabel(data));
+        }
+
+        BuiltRequest(String url, String method, RequestSpecification spec, byte[] body, TestCaseData data,
+                     String endpointLabel) {
             this.url = url;
             this.method = method;
             this.spec = spec;
             this.body = body;
+            this.data = data;
+            this.endpointLabel = endpointLabel;
         }
 
         public String getUrl() {
@@ -37,26 +49,108 @@ public class RequestBuilder {
             return spec;
         }
 
+        /**
+         * The request body decoded as a String, or null if there is none.
+         * Decoded on each call; prefer {@link #getBodyBytes()} where possible.
+         */
         public String getBody() {
+            return body == null ? null : new String(body, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * The request body exactly as sent (UTF-8), or null if there is none.
+         */
+        public byte[] getBodyBytes() {
             return body;
         }
+
+        /**
+         * The row with chaining placeholders resolved at build time.
+         */
+        public TestCaseData getData() {
+            return data;
+        }
+
+        /**
+         * Label the latency of this request is recorded under: the row's
+         * endpoint_key, or its url override without the query string (or
+         * base_url_key if it has neither), as written in the CSV. ${var} placeholders are left unresolved, so
+         * a label never carries IDs stored at run time and the number of
+         * labels stays bounded by the suite.
+         */
+        public String getEndpointLabel() {
+            return endpointLabel;
+        }
+
+        /**
+         * Wall-clock time of the last {@link #execute()}, or -1 if it has
+         * not been sent yet.
+         */
+        public long getLatencyNanos() {
+            return timing == null ? -1 : timing.getTotalNanos();
+        }
+
+        /**
+         * Phase breakdown of the last {@link #execute()}, or null if it has
+         * not been sent yet.
+         */
+        public RequestTiming getTiming() {
+            return timing;
+        }
+
+        /**
+         * Send the request and block until the response body has been read.
+         * The time taken is recorded in {@link LatencyRecorder}, including
+         * for requests that fail with an I/O error or time out.
+         */
+        public ParsedResponse execute() {
+            RequestTiming current = RequestTiming.begin();
+            long start = System.nanoTime();
+            try {
+                // Reading the body returns the connection to the pool even if
+                // nothing looks at the body, and times the transfer
+                return ParsedResponse.read(send(), data);
+            } finally {
+                current.finish(System.nanoTime() - start);
+                timing = current;
+                LatencyRecorder.record(method, getEndpointLabel(), current.getTotalNanos());
+            }
+        }
+
+        private Response send() {
+            switch (method) {
+                case "GET":
+                    return spec.get(url);
+                case "POST":
+                    return spec.post(url);
+                case "PUT":
+                    return spec.put(url);
+                case "PATCH":
+                    return spec.patch(url);
+                case "DELETE":
+                    return spec.delete(url);
+                default:
+                    throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+            }
+        }
     }
 
-    public static BuiltRequest build(TestCaseData data) {
+    /**
+     * Build a request for the given row. Placeholders are resolved here,
+     * against the values previously stored in the row's context.
+     */
+    public static BuiltRequest build(TestCaseData row, DataContext context) {
+        TestCaseData data = context.bind(row);
         String method = data.getMethod();
 
         String urlOverride = data.getUrlOverride();
-        String baseUrl = ConfigManager.getBaseUrl(data.getBaseUrlKey());
-        String endpointAliasOrPath = data.getEndpointKey();
-        String endpointPath = endpointAliasOrPath.isEmpty()
-                ? ""
-                : ConfigManager.resolveEndpoint(endpointAliasOrPath);
-
         String url = !urlOverride.isEmpty()
                 ? urlOverride
-                : baseUrl + endpointPath;
+                : ConfigManager.resolveUrl(data.getBaseUrlKey(), data.getEndpointKey());
 
-        RequestSpecification spec = RestAssured.given();
+        // Shared, pooled client per base URL key (see HttpClientPool)
+        RequestSpecification spec = RestAssured.given()
+                .config(HttpClientPool.configFor(data.getBaseUrlKey()));
 
         // Headers
         for (Map.Entry<String, String> header : data.getHeaderFields().entrySet()) {
@@ -67,7 +161,7 @@ public class RequestBuilder {
 
         // Build body (and/or query params) from request_ fields
         Map<String, String> requestFields = data.getRequestFields();
-        String body = null;
+        byte[] body = null;
         if (!requestFields.isEmpty()) {
             if ("GET".equalsIgnoreCase(method)) {
                 requestFields.forEach((k, v) -> {
@@ -77,13 +171,27 @@ public class RequestBuilder {
                 });
             } else {
                 String templateAlias = data.getBodyTemplateAlias();
-                body = JsonTemplateResolver.buildBody(templateAlias, requestFields);
+                body = JsonTemplateResolver.buildBodyBytes(templateAlias, requestFields);
                 spec.body(body);
                 spec.contentType("application/json");
             }
         }
 
-        return new BuiltRequest(url, method, spec, body);
+        return new BuiltRequest(url, method, spec, body, data, endpointLabel(row));
+    }
+
+    private static String endpointLabel(TestCaseData row) {
+        String alias = row.getEndpointKey();
+        if (!alias.isEmpty()) {
+            return alias;
+        }
+        String url = row.getUrlOverride();
+        if (url.isEmpty()) {
+            // request to the base URL itself
+            return row.getBaseUrlKey();
+        }
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
     }
 }
 
@@ -0,0 +1,146 @@
+package com.automation.api.core;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Where the time of one request went:
+ * - dns: host name resolution (0 when a pooled connection was reused)
+ * - connect: TCP connect and TLS handshake (0 when reused)
+ * - ttfb: from writing the request to receiving the response headers
+ * - transfer: reading the body and REST Assured's own processing
+ * <p>
+ * Phases are filled in by hooks installed on the pooled clients
+ * ({@link HttpClientPool}); HttpClient runs a request on the calling thread,
+ * so the hooks find the current timing through a ThreadLocal. With redirects
+ * the phases of every hop are added up. Requests not sent through the pool
+ * only get a total.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private long dnsNanos;
+    private long connectNanos;
+    private long ttfbNanos;
+    private long headersReceivedAt;
+    private long totalNanos;
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    void finish(long totalNanos) {
+        this.totalNanos = totalNanos;
+        CURRENT.remove();
+    }
+
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public long getTtfbNanos() {
+        return ttfbNanos;
+    }
+
+    /**
+     * 0 when the hooks did not run (see class comment).
+     */
+    public long getTransferNanos() {
+        return headersReceivedAt == 0 ? 0 : Math.max(totalNanos - (dnsNanos + connectNanos + ttfbNanos), 0);
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (headersReceivedAt == 0) {
+            return String.format("%.1f ms", totalNanos / 1e6);
+        }
+        return String.format("%.1f ms (dns %.1f, connect %.1f, ttfb %.1f, transfer %.1f)",
+                totalNanos / 1e6, dnsNanos / 1e6, connectNanos / 1e6, ttfbNanos / 1e6, getTransferNanos() / 1e6);
+    }
+
+    static final class TimedDnsResolver implements DnsResolver {
+
+        static final TimedDnsResolver INSTANCE = new TimedDnsResolver();
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                RequestTiming timing = CURRENT.get();
+                if (timing != null) {
+                    timing.dnsNanos += System.nanoTime() - start;
+                }
+            }
+        }
+    }
+
+    // the connection operator hook only exists on the deprecated HttpClient 4
+    // connection manager that REST Assured 5 needs (see HttpClientPool)
+    @SuppressWarnings("deprecation")
+    static final class TimedConnectionOperator extends DefaultClientConnectionOperator {
+
+        TimedConnectionOperator(SchemeRegistry schemes) {
+            super(schemes, TimedDnsResolver.INSTANCE);
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            RequestTiming timing = CURRENT.get();
+            long start = System.nanoTime();
+            long dnsBefore = timing == null ? 0 : timing.dnsNanos;
+            try {
+                super.openConnection(conn, target, local, context, params);
+            } finally {
+                if (timing != null) {
+                    // resolution happens inside openConnection; count it once
+                    timing.connectNanos += System.nanoTime() - start - (timing.dnsNanos - dnsBefore);
+                }
+            }
+        }
+    }
+
+    static final class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            RequestTiming timing = CURRENT.get();
+            long start = System.nanoTime();
+            HttpResponse response = super.execute(request, conn, context);
+            if (timing != null) {
+                timing.headersReceivedAt = System.nanoTime();
+                timing.ttfbNanos += timing.headersReceivedAt - start;
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.automation.api.core;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.model.TestCaseData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One of several partitions of a suite, for running it across processes or
+ * nodes (shard.index of shard.count).
+ * <p>
+ * Whole {@link ChainGroups chains} are assigned to shards by a hash of the
+ * testcase_id of their first row, so a store_* producer and its ${var}
+ * consumers always run in the same shard, in file order. The hash only
+ * depends on the id, so every node computes the same partition without
+ * talking to the others.
+ */
+public final class Shard {
+
+    private final int index;
+    private final int count;
+
+    public Shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * The shard given by shard.index and shard.count; the whole suite if
+     * neither is set.
+     */
+    public static Shard fromConfig() {
+        return new Shard(Integer.parseInt(ConfigManager.getOrDefault("shard.index", "0")),
+                Integer.parseInt(ConfigManager.getOrDefault("shard.count", "1")));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * The shard a chain starting with this testcase_id belongs to.
+     */
+    public static int of(String testCaseId, int count) {
+        // String.hashCode is specified, so this is the same on every JVM
+        int hash = testCaseId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    /**
+     * The rows of this shard, in their original order.
+     */
+    public List<TestCaseData> select(List<TestCaseData> rows) {
+        if (!isSharded()) {
+            return rows;
+        }
+        Set<TestCaseData> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<TestCaseData> chain : ChainGroups.partition(rows)) {
+            if (of(chain.get(0).getTestCaseId(), count) == index) {
+                selected.addAll(chain);
+            }
+        }
+        List<TestCaseData> shard = new ArrayList<>(selected.size());
+        for (TestCaseData row : rows) {
+            if (selected.contains(row)) {
+                shard.add(row);
+            }
+        }
+        return shard;
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + index + " of " + count;
+    }
+}
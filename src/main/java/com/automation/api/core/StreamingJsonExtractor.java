@@ -0,0 +1,275 @@
+package com.automation.api.core;
+
+import com.automation.api.model.TestCaseData;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.path.json.exception.JsonPathException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers a row's expected_json_* and store_* paths in one pass over a
+ * JSON stream, without keeping the document.
+ * <p>
+ * The requested paths are merged into a tree; objects and arrays outside it
+ * are skipped token by token, and reading stops as soon as every path has a
+ * value. Only the values asked for are materialised, so memory does not
+ * grow with the response. Values are the same ones {@link CompiledJsonPath}
+ * returns. Paths that need the whole document (GPath expressions, negative
+ * indexes, property reads on arrays) cannot be answered this way and fail
+ * when read. If an object repeats a key, the first occurrence is used where
+ * the tree keeps the last one.
+ */
+final class StreamingJsonExtractor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private static final JsonFactory JSON = MAPPER.getFactory();
+
+    private StreamingJsonExtractor() {
+    }
+
+    /**
+     * Outcome of one pass: a value (possibly null) for every requested path,
+     * or the reason a path could not be answered.
+     */
+    static final class Result {
+        private final Map<String, Object> values = new HashMap<>();
+        private final Map<String, String> unanswerable = new HashMap<>();
+        private RuntimeException error;
+        private long bytesRead;
+        private int remaining;
+
+        Object get(String path) {
+            if (error != null) {
+                throw error;
+            }
+            String reason = unanswerable.get(path);
+            if (reason != null) {
+                throw new IllegalStateException("JSON path '" + path + "' " + reason
+                        + "; the response was streamed because of its size (see response.streamThresholdBytes)");
+            }
+            if (!values.containsKey(path)) {
+                throw new IllegalStateException("JSON path '" + path
+                        + "' was not requested by the row, and the streamed response was not kept");
+            }
+            return values.get(path);
+        }
+
+        /**
+         * Bytes parsed; less than the body size after an early exit.
+         */
+        long getBytesRead() {
+            return bytesRead;
+        }
+    }
+
+    /**
+     * One step of the merged path tree.
+     */
+    private static final class Step {
+        private final Step parent;
+        private final Map<String, Step> names = new HashMap<>();
+        private final Map<Integer, Step> indexes = new HashMap<>();
+        private final List<String> paths = new ArrayList<>(); // requested paths ending here
+        private int pending; // unanswered paths at or below this step
+
+        private Step(Step parent) {
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * The plain JSON paths a row reads: store_* values and expected_json_* names.
+     */
+    static Set<String> pathsFor(TestCaseData data) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String path : data.getStoreFields().values()) {
+            if (path != null && !path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+        for (Map.Entry<String, String> entry : data.getExpectedFields().entrySet()) {
+            if (entry.getKey().startsWith("json_") && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                paths.add(entry.getKey().substring("json_".length()));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Read the stream until every path is answered or the document ends.
+     * The caller closes the stream.
+     */
+    static Result extract(InputStream in, Set<String> paths) {
+        Result result = new Result();
+        Step root = new Step(null);
+        for (String path : paths) {
+            Object[] segments = CompiledJsonPath.compile(path).segments();
+            if (segments == null) {
+                result.unanswerable.put(path, "is not a plain path");
+            } else if (!add(root, segments, path, result)) {
+                result.unanswerable.put(path, "uses a negative index");
+            }
+        }
+        if (result.remaining == 0) {
+            return result;
+        }
+
+        try (JsonParser parser = JSON.createParser(in)) {
+            if (parser.nextToken() == null) {
+                throw new JsonPathException("The JSON input text should neither be null nor empty.", null);
+            }
+            visit(parser, root, result);
+            // whatever the document did not contain is null, as with JsonPath
+            answerAll(root, null, result);
+            result.bytesRead = parser.currentLocation().getByteOffset();
+        } catch (IOException e) {
+            result.error = new JsonPathException("Failed to parse the streamed JSON response", e);
+        } catch (RuntimeException e) {
+            result.error = e;
+        }
+        return result;
+    }
+
+    private static boolean add(Step root, Object[] segments, String path, Result result) {
+        Step step = root;
+        for (Object segment : segments) {
+            if (segment instanceof String name) {
+                Step parent = step;
+                step = step.names.computeIfAbsent(name, k -> new Step(parent));
+            } else {
+                int index = (Integer) segment;
+                if (index < 0) {
+                    return false;
+                }
+                Step parent = step;
+                step = step.indexes.computeIfAbsent(index, k -> new Step(parent));
+            }
+        }
+        step.paths.add(path);
+        for (Step s = step; s != null; s = s.parent) {
+            s.pending++;
+        }
+        result.remaining++;
+        return true;
+    }
+
+    /**
+     * Visit the value the parser is positioned on, leaving the parser on its
+     * last token unless every path has been answered.
+     */
+    private static void visit(JsonParser parser, Step step, Result result) throws IOException {
+        if (!step.paths.isEmpty()) {
+            // a requested value: materialise just this subtree
+            answerFromTree(MAPPER.readTree(parser), step, result);
+            return;
+        }
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            answerAll(step, null, result);
+        } else if (token == JsonToken.START_OBJECT) {
+            step.indexes.values().forEach(child -> markUnanswerable(child, result));
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Step child = step.names.get(parser.currentName());
+                parser.nextToken();
+                if (child == null || child.pending == 0) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, child, result);
+                    if (result.remaining == 0) {
+                        return;
+                    }
+                }
+            }
+            answerAll(step, null, result); // names this object does not have
+        } else if (token == JsonToken.START_ARRAY) {
+            step.names.values().forEach(child -> markUnanswerable(child, result));
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                Step child = step.indexes.get(index++);
+                if (child == null || child.pending == 0) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, child, result);
+                    if (result.remaining == 0) {
+                        return;
+                    }
+                }
+            }
+            answerAll(step, null, result); // indexes past the end
+        } else {
+            // a property or index of a scalar: GPath semantics
+            markUnanswerable(step, result);
+        }
+    }
+
+    private static void answerFromTree(JsonNode node, Step step, Result result) {
+        boolean absent = node == null || node.isNull() || node.isMissingNode();
+        for (String path : step.paths) {
+            resolve(step, path, absent ? null : CompiledJsonPath.toGPathValue(node), null, result);
+        }
+        if (absent) {
+            answerAll(step, null, result);
+            return;
+        }
+        if (node.isObject()) {
+            step.names.forEach((name, child) -> answerFromTree(node.get(name), child, result));
+            step.indexes.values().forEach(child -> markUnanswerable(child, result));
+        } else if (node.isArray()) {
+            step.indexes.forEach((index, child) -> answerFromTree(node.get(index), child, result));
+            step.names.values().forEach(child -> markUnanswerable(child, result));
+        } else {
+            markUnanswerable(step, result);
+        }
+    }
+
+    private static void answerAll(Step step, Object value, Result result) {
+        if (step.pending == 0) {
+            return;
+        }
+        for (String path : step.paths) {
+            resolve(step, path, value, null, result);
+        }
+        step.names.values().forEach(child -> answerAll(child, value, result));
+        step.indexes.values().forEach(child -> answerAll(child, value, result));
+    }
+
+    private static void markUnanswerable(Step step, Result result) {
+        if (step.pending == 0) {
+            return;
+        }
+        for (String path : step.paths) {
+            resolve(step, path, null, "needs the whole document", result);
+        }
+        step.names.values().forEach(child -> markUnanswerable(child, result));
+        step.indexes.values().forEach(child -> markUnanswerable(child, result));
+    }
+
+    private static void resolve(Step step, String path, Object value, String unanswerable, Result result) {
+        if (result.values.containsKey(path) || result.unanswerable.containsKey(path)) {
+            return;
+        }
+        if (unanswerable != null) {
+            result.unanswerable.put(path, unanswerable);
+        } else {
+            result.values.put(path, value);
+        }
+        result.remaining--;
+        for (Step s = step; s != null; s = s.parent) {
+            s.pending--;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.automation.api.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only map view of one category of a row's columns, in header order.
+ * <p>
+ * For the request_/header_/expected_/store_ views ({@code fields} true),
+ * values are trimmed and blank ones are left out, as they were when these
+ * were separate maps; the raw view returns values exactly as read.
+ */
+final class ColumnMap extends AbstractMap<String, String> {
+
+    private final ColumnSchema.Category columns;
+    private final String[] values;
+    private final boolean fields;
+
+    ColumnMap(ColumnSchema.Category columns, String[] values, boolean fields) {
+        this.columns = columns;
+        this.values = values;
+        this.fields = fields;
+    }
+
+    private String valueAt(int position) {
+        if (!fields) {
+            return values[columns.columns[position]];
+        }
+        if (columns.duplicates != null && columns.duplicates[position] != null) {
+            int[] candidates = columns.duplicates[position];
+            for (int i = candidates.length - 1; i >= 0; i--) {
+                String value = trimmed(values[candidates[i]]);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+        return trimmed(values[columns.columns[position]]);
+    }
+
+    private static String trimmed(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private boolean present(int position) {
+        return !fields || valueAt(position) != null;
+    }
+
+    @Override
+    public String get(Object key) {
+        int position = key instanceof String || key == null ? columns.position((String) key) : -1;
+        return position < 0 ? null : valueAt(position);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int position = key instanceof String || key == null ? columns.position((String) key) : -1;
+        return position >= 0 && present(position);
+    }
+
+    @Override
+    public int size() {
+        if (!fields) {
+            return columns.names.length;
+        }
+        int size = 0;
+        for (int i = 0; i < columns.names.length; i++) {
+            if (present(i)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 0; i < columns.names.length; i++) {
+            if (present(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < columns.names.length && !present(from)) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < columns.names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, String> entry = new SimpleImmutableEntry<>(columns.names[next], valueAt(next));
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ColumnMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        for (int i = 0; i < columns.names.length; i++) {
+            String value = valueAt(i);
+            if (value != null || !fields) {
+                action.accept(columns.names[i], value);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.automation.api.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The columns of a CSV header, classified once and shared by every row read
+ * with that header.
+ * <p>
+ * A row is then just its values in header order (see {@link TestCaseData});
+ * the request_, header_, expected_ and store_ columns, with their prefixes
+ * stripped, are looked up here by index instead of being parsed and stored
+ * again for each row. If a column name occurs more than once, the last
+ * occurrence wins, as it did when rows were maps.
+ */
+public final class ColumnSchema {
+
+    /**
+     * Headers seen so far. A suite has a handful; rows built from maps with
+     * arbitrary keys stop being cached past this many.
+     */
+    private static final int MAX_CACHED = 256;
+
+    private static final Map<List<String>, ColumnSchema> CACHE = new ConcurrentHashMap<>();
+
+    private final String[] header;
+    private final Category raw;
+    private final Category request;
+    private final Category headers;
+    private final Category expected;
+    private final Category store;
+
+    private ColumnSchema(String[] header) {
+        this.header = header;
+        Map<String, Integer> last = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            last.put(header[i], i);
+        }
+        Map<String, List<Integer>> all = new LinkedHashMap<>();
+        Map<String, List<Integer>> request = new LinkedHashMap<>();
+        Map<String, List<Integer>> headers = new LinkedHashMap<>();
+        Map<String, List<Integer>> expected = new LinkedHashMap<>();
+        Map<String, List<Integer>> store = new LinkedHashMap<>();
+        for (int column = 0; column < header.length; column++) {
+            String name = header[column];
+            if (last.get(name) != column) {
+                continue;
+            }
+            all.put(name, List.of(column));
+            if (name == null) {
+                continue;
+            }
+            // names that only differ in surrounding spaces share a field
+            String key = name.trim();
+            if (key.startsWith("request_")) {
+                add(request, key.substring("request_".length()), column);
+            } else if (key.startsWith("header_")) {
+                add(headers, key.substring("header_".length()), column);
+            } else if (key.startsWith("expected_")) {
+                add(expected, key.substring("expected_".length()), column);
+            } else if (key.startsWith("store_")) {
+                add(store, key.substring("store_".length()), column);
+            }
+        }
+        this.raw = new Category(all);
+        this.request = new Category(request);
+        this.headers = new Category(headers);
+        this.expected = new Category(expected);
+        this.store = new Category(store);
+    }
+
+    private static void add(Map<String, List<Integer>> category, String name, int column) {
+        category.computeIfAbsent(name, k -> new ArrayList<>(1)).add(column);
+    }
+
+    /**
+     * The schema for a header, shared with every other caller using the
+     * same column names in the same order.
+     */
+    public static ColumnSchema of(String... header) {
+        List<String> key = Arrays.asList(header.clone());
+        ColumnSchema schema = CACHE.get(key);
+        if (schema != null) {
+            return schema;
+        }
+        if (CACHE.size() >= MAX_CACHED) {
+            return new ColumnSchema(key.toArray(new String[0]));
+        }
+        return CACHE.computeIfAbsent(key, k -> new ColumnSchema(k.toArray(new String[0])));
+    }
+
+    /**
+     * Number of values a row with this schema holds.
+     */
+    public int size() {
+        return header.length;
+    }
+
+    /**
+     * Header name of a column.
+     */
+    public String column(int index) {
+        return header[index];
+    }
+
+    /**
+     * The column holding the given header name, or -1.
+     */
+    public int indexOf(String column) {
+        return raw.indexOf(column);
+    }
+
+    Category raw() {
+        return raw;
+    }
+
+    Category request() {
+        return request;
+    }
+
+    Category headers() {
+        return headers;
+    }
+
+    Category expected() {
+        return expected;
+    }
+
+    Category store() {
+        return store;
+    }
+
+    /**
+     * Names and columns of one kind of column, in header order. A field
+     * name can have several columns; the last non-blank one is its value.
+     */
+    static final class Category {
+        final String[] names;
+        final int[] columns;
+        final int[][] duplicates;
+        private final Map<String, Integer> positions;
+
+        private Category(Map<String, List<Integer>> columnsByName) {
+            names = columnsByName.keySet().toArray(new String[0]);
+            columns = new int[names.length];
+            int[][] duplicates = null;
+            positions = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                List<Integer> named = columnsByName.get(names[i]);
+                columns[i] = named.get(named.size() - 1);
+                if (named.size() > 1) {
+                    if (duplicates == null) {
+                        duplicates = new int[names.length][];
+                    }
+                    duplicates[i] = named.stream().mapToInt(Integer::intValue).toArray();
+                }
+                positions.put(names[i], i);
+            }
+            this.duplicates = duplicates;
+        }
+
+        /**
+         * Position of a name within this category, or -1.
+         */
+        int position(String name) {
+            Integer position = positions.get(name);
+            return position == null ? -1 : position;
+        }
+
+        int indexOf(String name) {
+            int position = position(name);
+            return position < 0 ? -1 : columns[position];
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.automation.api.model;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * Represents a single CSV row of test data.
@@ -18,52 +17,90 @@ import java.util.Map;
  * - expected_*: expected values for assertions
  * - store_*: JSONPath expressions whose extracted values should be stored for chaining
  * - body_template: alias of a JSON template file under src/test/resources/json-templates
+ * - scope: optional chain group; rows with the same scope share stored values,
+ *   isolated from other scopes (falls back to suite-level values)
+ * - repeat: optional number of times to send the request (default 1), for
+ *   aggregate latency expectations such as expected_p99_ms
+ * - stream_response: true to always stream the response instead of keeping
+ *   it (large responses are streamed regardless; see response.streamThresholdBytes)
+ * - capture_payload: true to keep the full request and response in the
+ *   summary report even when the test passes
+ *
+ * A row holds only its values, in header order; which column is which is
+ * described by a {@link ColumnSchema} shared by all rows with the same
+ * header. The field getters are read-only views over those values.
  */
 public class TestCaseData {
 
-    private final Map<String, String> raw;
-    private final Map<String, String> requestFields = new HashMap<>();
-    private final Map<String, String> headerFields = new HashMap<>();
-    private final Map<String, String> expectedFields = new HashMap<>();
-    private final Map<String, String> storeFields = new HashMap<>();
+    private final ColumnSchema schema;
+    private final String[] values;
 
     public TestCaseData(Map<String, String> row) {
-        this.raw = new HashMap<>(row);
-        row.forEach((k, v) -> {
-            if (k == null) {
-                return;
-            }
-            if (v == null || v.trim().isEmpty()) {
-                return;
-            }
-            String key = k.trim();
-            String value = v.trim();
-            if (key.startsWith("request_")) {
-                requestFields.put(key.substring("request_".length()), value);
-            } else if (key.startsWith("header_")) {
-                headerFields.put(key.substring("header_".length()), value);
-            } else if (key.startsWith("expected_")) {
-                expectedFields.put(key.substring("expected_".length()), value);
-            } else if (key.startsWith("store_")) {
-                storeFields.put(key.substring("store_".length()), value);
-            }
-        });
+        this.schema = ColumnSchema.of(row.keySet().toArray(new String[0]));
+        this.values = new String[schema.size()];
+        int i = 0;
+        for (String value : row.values()) {
+            values[i++] = value;
+        }
+    }
+
+    /**
+     * A row read against a known header. The array is kept, not copied, and
+     * must have one value per column of the schema.
+     */
+    public TestCaseData(ColumnSchema schema, String[] values) {
+        if (values.length != schema.size()) {
+            throw new IllegalArgumentException("Expected " + schema.size() + " values but got " + values.length);
+        }
+        this.schema = schema;
+        this.values = values;
+    }
+
+    /**
+     * A copy of this row with every value replaced by
+     * {@code resolver.apply(column, value)}, sharing the same schema.
+     */
+    public TestCaseData withValues(BiFunction<String, String, String> resolver) {
+        ColumnSchema.Category columns = schema.raw();
+        String[] copy = values.clone();
+        for (int i = 0; i < columns.names.length; i++) {
+            int column = columns.columns[i];
+            copy[column] = resolver.apply(columns.names[i], copy[column]);
+        }
+        return new TestCaseData(schema, copy);
+    }
+
+    public ColumnSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Value of a column by its index in the schema, exactly as read.
+     */
+    public String get(int column) {
+        return values[column];
     }
 
     public String get(String key) {
-        return raw.get(key);
+        int column = schema.indexOf(key);
+        return column < 0 ? null : values[column];
+    }
+
+    private String getOrDefault(String key, String defaultValue) {
+        int column = schema.indexOf(key);
+        return column < 0 ? defaultValue : values[column];
     }
 
     public String getTestCaseId() {
-        return raw.getOrDefault("testcase_id", "");
+        return getOrDefault("testcase_id", "");
     }
 
     public String getTestCaseName() {
-        return raw.getOrDefault("testcase_name", "");
+        return getOrDefault("testcase_name", "");
     }
 
     public String getMethod() {
-        String value = raw.get("method");
+        String value = get("method");
         if (value == null || value.trim().isEmpty()) {
             return "GET";
         }
@@ -71,39 +108,65 @@ public class TestCaseData {
     }
 
     public String getBaseUrlKey() {
-        return raw.getOrDefault("base_url_key", "baseUrl");
+        return getOrDefault("base_url_key", "baseUrl");
     }
 
     public String getEndpointKey() {
-        return raw.getOrDefault("endpoint_key", "");
+        return getOrDefault("endpoint_key", "");
     }
 
     public String getUrlOverride() {
-        return raw.getOrDefault("url", "");
+        return getOrDefault("url", "");
     }
 
     public String getBodyTemplateAlias() {
-        return raw.getOrDefault("body_template", "");
+        return getOrDefault("body_template", "");
+    }
+
+    public String getScope() {
+        String value = get("scope");
+        return value == null ? "" : value.trim();
+    }
+
+    public int getRepeat() {
+        String value = get("repeat");
+        if (value == null || value.trim().isEmpty()) {
+            return 1;
+        }
+        int repeat = Integer.parseInt(value.trim());
+        if (repeat < 1) {
+            throw new IllegalArgumentException("repeat must be at least 1 for test " + getTestCaseId() + ": " + value);
+        }
+        return repeat;
+    }
+
+    public boolean isStreamResponse() {
+        String value = get("stream_response");
+        return value != null && Boolean.parseBoolean(value.trim());
+    }
+
+    public boolean isCapturePayload() {
+        String value = get("capture_payload");
+        return value != null && Boolean.parseBoolean(value.trim());
     }
 
     public Map<String, String> getRequestFields() {
-        return Collections.unmodifiableMap(requestFields);
+        return new ColumnMap(schema.request(), values, true);
     }
 
     public Map<String, String> getHeaderFields() {
-        return Collections.unmodifiableMap(headerFields);
+        return new ColumnMap(schema.headers(), values, true);
     }
 
     public Map<String, String> getExpectedFields() {
-        return Collections.unmodifiableMap(expectedFields);
+        return new ColumnMap(schema.expected(), values, true);
     }
 
     public Map<String, String> getStoreFields() {
-        return Collections.unmodifiableMap(storeFields);
+        return new ColumnMap(schema.store(), values, true);
     }
 
     public Map<String, String> getRaw() {
-        return Collections.unmodifiableMap(raw);
+        return new ColumnMap(schema.raw(), values, false);
     }
 }
-
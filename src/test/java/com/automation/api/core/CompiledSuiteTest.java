@@ -0,0 +1,111 @@
+package com.automation.api.core;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.model.TestCaseData;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the sample suite and opens it the way a run does: with
+ * suite.artifact pointing at it, and with other settings changed since it
+ * was compiled.
+ */
+public class CompiledSuiteTest {
+
+    private static final String CSV_PATH = "test-data/sample_api_tests.csv";
+
+    private Path dir;
+    private Path artifact;
+
+    @BeforeClass
+    public void compile() throws IOException {
+        dir = Files.createTempDirectory("compiled-suite-test");
+        artifact = dir.resolve("suite.bin");
+        CompiledSuite.compile(CsvTestDataLoader.iterator(CSV_PATH), artifact);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        System.clearProperty("suite.artifact");
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void opensTheArtifactNamedBySuiteArtifact() {
+        System.setProperty("suite.artifact", artifact.toString());
+        CompiledSuite suite = CompiledSuite.open(Paths.get(ConfigManager.get("suite.artifact")));
+
+        List<TestCaseData> expected = CsvTestDataLoader.load(CSV_PATH);
+        Assert.assertEquals(suite.size(), expected.size());
+        int i = 0;
+        for (TestCaseData row : suite) {
+            Assert.assertEquals(row.getRaw(), expected.get(i++).getRaw());
+        }
+    }
+
+    @Test
+    public void opensAfterUnrelatedSettingsChange() throws Exception {
+        String overlay = "suite.artifact=" + artifact.toString().replace("\\", "\\\\") + "\n"
+                + "report.pageSize=7\n";
+        Assert.assertEquals(openInNewJvm("unrelated", overlay), 0);
+    }
+
+    @Test
+    public void refusesOnceAnEndpointChanges() throws Exception {
+        String overlay = "suite.artifact=" + artifact.toString().replace("\\", "\\\\") + "\n"
+                + "endpoint.users=/v2/users\n";
+        Assert.assertNotEquals(openInNewJvm("endpoint", overlay), 0);
+    }
+
+    @Test
+    public void refusesOnceBaseUrlIsOverriddenOnTheCommandLine() throws Exception {
+        String overlay = "suite.artifact=" + artifact.toString().replace("\\", "\\\\") + "\n";
+        Assert.assertNotEquals(openInNewJvm("override", overlay, "-DbaseUrl=http://localhost:8080"), 0);
+    }
+
+    /**
+     * Open the artifact in a JVM whose configuration adds the given
+     * config-&lt;env&gt;.properties overlay and system properties; returns
+     * its exit code.
+     */
+    private int openInNewJvm(String env, String overlay, String... properties) throws Exception {
+        Files.writeString(dir.resolve("config-" + env + ".properties"), overlay, StandardCharsets.UTF_8);
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(dir + File.pathSeparator + System.getProperty("java.class.path"));
+        command.add("-Denv=" + env);
+        command.addAll(List.of(properties));
+        command.add(Open.class.getName());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        Assert.assertTrue(process.waitFor(60, TimeUnit.SECONDS), "child JVM did not finish");
+        return process.exitValue();
+    }
+
+    public static final class Open {
+        public static void main(String[] args) {
+            CompiledSuite.open(Paths.get(ConfigManager.get("suite.artifact")));
+        }
+    }
+}
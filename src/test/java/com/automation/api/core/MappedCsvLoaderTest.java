@@ -0,0 +1,137 @@
+package com.automation.api.core;
+
+import com.automation.api.model.TestCaseData;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Differential test: the mapped loader must return exactly what the
+ * sequential {@link CsvTestDataLoader} returns for the same file, with
+ * chunks small enough that most of them cut through rows, quoted fields
+ * and line breaks inside quotes.
+ */
+public class MappedCsvLoaderTest {
+
+    private static final int FILES = 3000;
+    private static final long[] CHUNK_BYTES = {1, 2, 3, 7, 16, 64};
+
+    private ForkJoinPool pool;
+    private Path file;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        file = Files.createTempFile("mapped-csv-test", ".csv");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void matchesSequentialLoaderOnRandomFiles() throws IOException {
+        Random random = new Random(22);
+        for (int n = 0; n < FILES; n++) {
+            String csv = randomCsv(random);
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+            Object expected = outcome(() -> values(sequential(csv)));
+            for (long chunkBytes : CHUNK_BYTES) {
+                Assert.assertEquals(outcome(() -> values(MappedCsvLoader.load(file, pool, chunkBytes))), expected,
+                        "chunk size " + chunkBytes + " for:\n" + csv);
+            }
+        }
+    }
+
+    @Test
+    public void backslashEscapedQuotesOnSeparateLines() throws IOException {
+        // an even number of \" in total, so raw quote parity is inverted
+        // between them and a naive cut lands inside the multi-line field
+        String csv = "testcase_id,request_note\n"
+                + "TC1,\"say \\\"hi\"\n"
+                + "TC2,\"two\nlines\"\n"
+                + "TC3,\"and \\\"bye\"\n"
+                + "TC4,plain\n";
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        List<List<String>> expected = values(sequential(csv));
+        Assert.assertEquals(expected.size(), 4);
+        for (long chunkBytes : CHUNK_BYTES) {
+            Assert.assertEquals(values(MappedCsvLoader.load(file, pool, chunkBytes)), expected,
+                    "chunk size " + chunkBytes);
+        }
+    }
+
+    /**
+     * The rows read, or "malformed" if the file cannot be parsed (e.g. a
+     * field ending in a backslash-escaped quote is never closed).
+     */
+    private static Object outcome(Supplier<List<List<String>>> load) {
+        try {
+            return load.get();
+        } catch (RuntimeException e) {
+            return "malformed";
+        }
+    }
+
+    private static List<TestCaseData> sequential(String csv) {
+        List<TestCaseData> rows = new ArrayList<>();
+        CsvTestDataLoader.iterator(new StringReader(csv), "test").forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static List<List<String>> values(List<TestCaseData> rows) {
+        List<List<String>> values = new ArrayList<>(rows.size());
+        for (TestCaseData row : rows) {
+            List<String> rowValues = new ArrayList<>();
+            for (int i = 0; i < row.getSchema().size(); i++) {
+                rowValues.add(row.get(i));
+            }
+            values.add(rowValues);
+        }
+        return values;
+    }
+
+    private static String randomCsv(Random random) {
+        int columns = 1 + random.nextInt(4);
+        StringBuilder csv = new StringBuilder("testcase_id");
+        for (int c = 1; c < columns; c++) {
+            csv.append(",request_f").append(c);
+        }
+        csv.append('\n');
+        int rows = random.nextInt(8);
+        for (int r = 0; r < rows; r++) {
+            csv.append("TC").append(r);
+            for (int c = 1; c < columns; c++) {
+                csv.append(',').append(randomCell(random));
+            }
+            csv.append(random.nextInt(5) == 0 ? "\r\n" : "\n");
+        }
+        return csv.toString();
+    }
+
+    private static String randomCell(Random random) {
+        String[] pieces = {"a", "b c", ",", "\"\"", "\n", "\r\n", "x\\\"y", "\\", "é"};
+        StringBuilder cell = new StringBuilder();
+        int length = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            cell.append(pieces[random.nextInt(pieces.length)]);
+        }
+        String value = cell.toString();
+        boolean needsQuotes = value.contains(",") || value.contains("\"") || value.contains("\n");
+        return needsQuotes || random.nextBoolean() ? '"' + value + '"' : value;
+    }
+}
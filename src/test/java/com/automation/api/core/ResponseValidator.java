@@ -1,11 +1,12 @@
 package com.automation.api.core;
 
 import com.automation.api.model.TestCaseData;
-import io.restassured.path.json.JsonPath;
-import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
 import org.testng.Assert;
 
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Applies assertions based on expected_ fields in CSV.
@@ -13,22 +14,38 @@ import java.util.Map;
  * Supported conventions:
  * - expected_status: HTTP status code (e.g. 200)
  * - expected_body_contains: substring that must appear in response body
+ *
+ * Expected values may reference chained values (${var}); they are resolved
+ * against the row's context at validation time, after store_* capture.
+ *
+ * Latency expectations, in milliseconds:
+ * - expected_max_latency_ms: limit for each execution of the row
+ * - expected_max_dns_ms, _connect_ms, _ttfb_ms, _transfer_ms: limits for
+ *   each phase (see {@link RequestTiming})
+ * - expected_p<N>_ms (e.g. expected_p95_ms, expected_p99.9_ms): percentile
+ *   over all executions of the row (repeat column, or a load run)
+ * - expected_min_rps: executions of the row per second over the same window
  */
 public class ResponseValidator {
 
-    public static void validate(Response response, TestCaseData data) {
+    private static final Pattern PERCENTILE = Pattern.compile("p(\\d+(?:\\.\\d+)?)_ms");
+
+    public static void validate(ParsedResponse response, TestCaseData data, DataContext context) {
         Map<String, String> expected = data.getExpectedFields();
 
-        String status = expected.get("status");
+        String status = context.resolvePlaceholders(expected.get("status"));
         if (status != null && !status.isEmpty()) {
             int expectedStatus = Integer.parseInt(status.trim());
-            Assert.assertEquals(response.statusCode(), expectedStatus,
+            Assert.assertEquals(response.getStatusCode(), expectedStatus,
                     "HTTP status code mismatch for test " + data.getTestCaseId());
         }
 
-        String bodyContains = expected.get("body_contains");
+        String bodyContains = context.resolvePlaceholders(expected.get("body_contains"));
         if (bodyContains != null && !bodyContains.isEmpty()) {
-            String body = response.getBody().asString();
+            Assert.assertFalse(response.isStreamed(),
+                    "expected_body_contains cannot be checked for test " + data.getTestCaseId()
+                            + ": the response was streamed and not kept (use expected_json_* instead)");
+            String body = response.getBodyString();
             Assert.assertTrue(body.contains(bodyContains),
                     "Response body does not contain expected text for test "
                             + data.getTestCaseId() + ": " + bodyContains);
@@ -36,18 +53,16 @@ public class ResponseValidator {
 
         // Additional JSONPath-based expectations:
         // expected_json_<path> = value  -> path is dotted, e.g. user.id
-        String contentType = response.getContentType();
-        if (contentType != null && contentType.contains("application/json")) {
-            JsonPath jsonPath = response.jsonPath();
+        if (response.isJson()) {
             for (Map.Entry<String, String> entry : expected.entrySet()) {
                 String key = entry.getKey();
                 if (key.startsWith("json_")) {
                     String jsonPathExpr = key.substring("json_".length()); // e.g. user.id
-                    String expectedValue = entry.getValue();
+                    String expectedValue = context.resolvePlaceholders(entry.getValue());
                     if (expectedValue == null || expectedValue.isEmpty()) {
                         continue;
                     }
-                    Object actual = jsonPath.get(jsonPathExpr);
+                    Object actual = response.read(jsonPathExpr);
                     Assert.assertNotNull(actual,
                             "JSONPath " + jsonPathExpr + " not found in response for test " + data.getTestCaseId());
                     Assert.assertEquals(String.valueOf(actual), expectedValue,
@@ -56,5 +71,60 @@ public class ResponseValidator {
             }
         }
     }
-}
 
+    public static void validateLatency(RequestTiming timing, TestCaseData data) {
+        Map<String, String> expected = data.getExpectedFields();
+        assertAtMost(timing.getTotalNanos(), expected.get("max_latency_ms"), "Latency", data);
+        assertAtMost(timing.getDnsNanos(), expected.get("max_dns_ms"), "DNS time", data);
+        assertAtMost(timing.getConnectNanos(), expected.get("max_connect_ms"), "Connect time", data);
+        assertAtMost(timing.getTtfbNanos(), expected.get("max_ttfb_ms"), "Time to first byte", data);
+        assertAtMost(timing.getTransferNanos(), expected.get("max_transfer_ms"), "Transfer time", data);
+    }
+
+    /**
+     * True if the row has percentile or throughput expectations, which need
+     * several executions to be meaningful.
+     */
+    public static boolean hasAggregateExpectations(TestCaseData data) {
+        for (String key : data.getExpectedFields().keySet()) {
+            if (key.equals("min_rps") || PERCENTILE.matcher(key).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param latencies   every execution of the row, in nanoseconds
+     * @param elapsedNanos window the executions were spread over
+     */
+    public static void validateAggregates(TestCaseData data, Histogram latencies, long elapsedNanos) {
+        for (Map.Entry<String, String> entry : data.getExpectedFields().entrySet()) {
+            Matcher percentile = PERCENTILE.matcher(entry.getKey());
+            if (percentile.matches()) {
+                double p = Double.parseDouble(percentile.group(1));
+                assertAtMost(latencies.getValueAtPercentile(p), entry.getValue(),
+                        "p" + percentile.group(1) + " latency over " + latencies.getTotalCount() + " executions", data);
+            }
+        }
+
+        String minRps = data.getExpectedFields().get("min_rps");
+        if (minRps != null && elapsedNanos > 0) {
+            double rps = latencies.getTotalCount() * 1e9 / elapsedNanos;
+            Assert.assertTrue(rps >= Double.parseDouble(minRps.trim()),
+                    String.format("Throughput %.1f rps is below expected %s rps for test %s",
+                            rps, minRps.trim(), data.getTestCaseId()));
+        }
+    }
+
+    private static void assertAtMost(long actualNanos, String limitMillis, String what, TestCaseData data) {
+        if (limitMillis == null || limitMillis.isEmpty()) {
+            return;
+        }
+        double limit = Double.parseDouble(limitMillis.trim());
+        double actual = actualNanos / 1e6;
+        Assert.assertTrue(actual <= limit,
+                String.format("%s %.1f ms exceeds expected %s ms for test %s",
+                        what, actual, limitMillis.trim(), data.getTestCaseId()));
+    }
+}
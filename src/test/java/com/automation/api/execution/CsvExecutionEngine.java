@@ -0,0 +1,149 @@
+package com.automation.api.execution;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.core.ContextScopes;
+import com.automation.api.core.DataContext;
+import com.automation.api.core.DependencyScheduler;
+import com.automation.api.model.TestCaseData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs CSV rows outside of TestNG on an executor of choice.
+ * <p>
+ * Rows are read lazily and submitted one task per row. At most
+ * maxConcurrency rows are in flight at once (including rows waiting for a
+ * chained dependency), and at most maxPerHost requests go to one host at a
+ * time. Chaining order is enforced with the same {@link DependencyScheduler}
+ * the TestNG data provider uses.
+ * <p>
+ * Settings (config.properties):
+ * - engine.maxConcurrency: rows in flight, default 256
+ * - engine.maxPerHost: concurrent requests per host, default 64
+ */
+public class CsvExecutionEngine {
+
+    private final Supplier<ExecutorService> executorFactory;
+    private final int maxConcurrency;
+    private final int maxPerHost;
+
+    public CsvExecutionEngine(Supplier<ExecutorService> executorFactory, int maxConcurrency, int maxPerHost) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.executorFactory = executorFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.maxPerHost = maxPerHost;
+    }
+
+    /**
+     * Engine with limits taken from config.properties.
+     */
+    public static CsvExecutionEngine fromConfig(Supplier<ExecutorService> executorFactory) {
+        return new CsvExecutionEngine(executorFactory,
+                Integer.parseInt(ConfigManager.getOrDefault("engine.maxConcurrency", "256")),
+                Integer.parseInt(ConfigManager.getOrDefault("engine.maxPerHost", "64")));
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    /**
+     * Run every row and block until all of them have finished.
+     */
+    public Report run(Iterator<TestCaseData> rows) {
+        DependencyScheduler scheduler = new DependencyScheduler();
+        ContextScopes scopes = new ContextScopes(DataContext.global());
+        RowRunner runner = new RowRunner(new HostLimiter(maxPerHost));
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        AtomicInteger passed = new AtomicInteger();
+        List<RowResult> failures = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        ExecutorService executor = executorFactory.get();
+        try {
+            while (rows.hasNext()) {
+                TestCaseData row = rows.next();
+                scheduler.register(row);
+                scopes.register(row);
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        scheduler.awaitDependencies(row);
+                        RowResult result = runner.run(row, scopes.contextFor(row));
+                        if (result.isPassed()) {
+                            passed.incrementAndGet();
+                        } else {
+                            failures.add(result);
+                        }
+                    } finally {
+                        scopes.complete(row);
+                        scheduler.complete(row);
+                        inFlight.release();
+                    }
+                });
+            }
+            scopes.allRegistered();
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return new Report(passed.get(), new ArrayList<>(failures), System.nanoTime() - start);
+    }
+
+    /**
+     * Aggregate outcome of a run. Only failed rows are kept individually.
+     */
+    public static class Report {
+        private final int passed;
+        private final List<RowResult> failures;
+        private final long elapsedNanos;
+
+        public Report(int passed, List<RowResult> failures, long elapsedNanos) {
+            this.passed = passed;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getPassed() {
+            return passed;
+        }
+
+        public List<RowResult> getFailures() {
+            return failures;
+        }
+
+        public int getTotal() {
+            return passed + failures.size();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : getTotal() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows (%d passed, %d failed) in %.2fs, %.1f rows/s",
+                    getTotal(), passed, failures.size(), elapsedNanos / 1e9, getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.automation.api.execution;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of requests in flight per target host.
+ */
+public class HostLimiter {
+
+    private final int maxPerHost;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    public HostLimiter(int maxPerHost) {
+        if (maxPerHost <= 0) {
+            throw new IllegalArgumentException("maxPerHost must be positive: " + maxPerHost);
+        }
+        this.maxPerHost = maxPerHost;
+    }
+
+    /**
+     * Block until a slot for the URL's host is free.
+     */
+    public Permit acquire(String url) throws InterruptedException {
+        Semaphore semaphore = hosts.computeIfAbsent(hostOf(url), h -> new Semaphore(maxPerHost));
+        semaphore.acquire();
+        return semaphore::release;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            String host = uri.getHost();
+            if (host != null) {
+                return uri.getPort() < 0 ? host : host + ":" + uri.getPort();
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through: unparseable URLs share one bucket per raw value
+        }
+        return url;
+    }
+
+    /**
+     * A held slot; closing it frees the slot.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.automation.api.execution;
+
+import com.automation.api.config.ConfigManager;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run: target arrival rate, how long to hold it, how long
+ * to ramp up to it, and how many arrivals may be in flight at once.
+ * <p>
+ * Settings (config.properties or -D system properties):
+ * - load.rps: target arrivals per second once ramped up (default 10); each
+ *   arrival runs one chain, so requests per second are higher for chains
+ *   of several rows
+ * - load.durationSeconds: total run time including ramp-up (default 60)
+ * - load.rampUpSeconds: linear ramp from 0 to load.rps (default 0)
+ * - load.maxConcurrency: arrivals in flight; further arrivals are dropped
+ *   and reported rather than queued (default 200)
+ */
+public class LoadProfile {
+
+    private final double targetRps;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final int maxConcurrency;
+
+    public LoadProfile(double targetRps, Duration duration, Duration rampUp, int maxConcurrency) {
+        if (targetRps <= 0) {
+            throw new IllegalArgumentException("targetRps must be positive: " + targetRps);
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        if (rampUp.compareTo(duration) > 0) {
+            throw new IllegalArgumentException("rampUp must not exceed duration");
+        }
+        this.targetRps = targetRps;
+        this.duration = duration;
+        this.rampUp = rampUp;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                Double.parseDouble(ConfigManager.getOrDefault("load.rps", "10")),
+                Duration.ofSeconds(Long.parseLong(ConfigManager.getOrDefault("load.durationSeconds", "60"))),
+                Duration.ofSeconds(Long.parseLong(ConfigManager.getOrDefault("load.rampUpSeconds", "0"))),
+                Integer.parseInt(ConfigManager.getOrDefault("load.maxConcurrency", "200")));
+    }
+
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Offset from the start of the run at which the given arrival (0-based)
+     * is due. The rate rises linearly during ramp-up, then stays constant.
+     */
+    public long arrivalOffsetNanos(long arrival) {
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double rampArrivals = targetRps * rampSeconds / 2;
+        double seconds;
+        if (arrival < rampArrivals) {
+            // arrivals(t) = rps * t^2 / (2 * ramp)
+            seconds = Math.sqrt(2 * rampSeconds * arrival / targetRps);
+        } else {
+            seconds = rampSeconds + (arrival - rampArrivals) / targetRps;
+        }
+        return (long) (seconds * 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f arrivals/s for %ds (ramp-up %ds, max %d in flight)",
+                targetRps, duration.getSeconds(), rampUp.getSeconds(), maxConcurrency);
+    }
+}
@@ -0,0 +1,161 @@
+package com.automation.api.execution;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters collected during a load run. Safe to update from many threads.
+ */
+public class LoadReport {
+
+    private final LoadProfile profile;
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder chains = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final Map<String, Histogram> latenciesByTest = new ConcurrentHashMap<>();
+    private final LongAccumulator chainMaxNanos = new LongAccumulator(Math::max, 0);
+    private final Map<String, LongAdder> failuresByTest = new ConcurrentHashMap<>();
+    private volatile long elapsedNanos;
+
+    public LoadReport(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    void arrival() {
+        arrivals.increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void record(RowResult result) {
+        if (result.isPassed()) {
+            passed.increment();
+        } else {
+            failed.increment();
+            failuresByTest.computeIfAbsent(result.getTestId(), k -> new LongAdder()).increment();
+        }
+        // rows of a load run are sent once each (RowRunner.runOnce)
+        latencies.recordValue(result.getMeanLatencyNanos());
+        latenciesByTest.computeIfAbsent(result.getTestId(), k -> new ConcurrentHistogram(3))
+                .recordValue(result.getMeanLatencyNanos());
+    }
+
+    /**
+     * @param nanosSinceIntendedStart time from the scheduled (not actual)
+     *                                arrival to completion, so queueing
+     *                                delay is included
+     */
+    void chainCompleted(long nanosSinceIntendedStart) {
+        chains.increment();
+        chainMaxNanos.accumulate(nanosSinceIntendedStart);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public long getArrivals() {
+        return arrivals.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getCompletedChains() {
+        return chains.sum();
+    }
+
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public double getErrorRatePercent() {
+        long total = getPassed() + getFailed();
+        return total == 0 ? 0 : getFailed() * 100.0 / total;
+    }
+
+    /**
+     * Arrivals (chain starts) per second that were not dropped; compare with
+     * load.rps.
+     */
+    public double getArrivalsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (getArrivals() - getDropped()) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Requests (row executions) per second; higher than
+     * {@link #getArrivalsPerSecond()} when chains have several rows.
+     */
+    public double getRequestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (getPassed() + getFailed()) * 1e9 / elapsedNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getMeanLatencyMillis() {
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getMean() / 1e6;
+    }
+
+    public double getMaxLatencyMillis() {
+        return latencies.getMaxValue() / 1e6;
+    }
+
+    public double getLatencyMillisAtPercentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * Latency of every execution of the given testcase_id, in nanoseconds;
+     * empty if it never ran. Read once the run has finished.
+     */
+    public Histogram getLatencies(String testId) {
+        Histogram histogram = latenciesByTest.get(testId);
+        return histogram == null ? new Histogram(3) : histogram;
+    }
+
+    public double getMaxChainMillis() {
+        return chainMaxNanos.get() / 1e6;
+    }
+
+    /**
+     * Failed executions per testcase_id, sorted by id.
+     */
+    public Map<String, Long> getFailuresByTest() {
+        Map<String, Long> out = new TreeMap<>();
+        failuresByTest.forEach((id, count) -> out.put(id, count.sum()));
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("target %s: %d arrivals (%d dropped), %.1f arrivals/s achieved, "
+                        + "%.1f requests/s, %d rows passed, %d failed (%.2f%%), latency mean %.1f ms, p99 %.1f ms, max %.1f ms, "
+                        + "max chain %.1f ms",
+                profile, getArrivals(), getDropped(), getArrivalsPerSecond(), getRequestsPerSecond(),
+                getPassed(), getFailed(), getErrorRatePercent(),
+                getMeanLatencyMillis(), getLatencyMillisAtPercentile(99), getMaxLatencyMillis(),
+                getMaxChainMillis());
+    }
+}
@@ -0,0 +1,109 @@
+package com.automation.api.execution;
+
+import com.automation.api.core.ChainGroups;
+import com.automation.api.core.ContextScopes;
+import com.automation.api.core.DataContext;
+import com.automation.api.model.TestCaseData;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a CSV suite as an open-model, constant-arrival-rate workload.
+ * <p>
+ * The suite is split into chains ({@link ChainGroups}); each arrival runs
+ * the next chain, round-robin, with its rows in file order and a fresh
+ * context so chained values never leak between iterations. Arrivals are
+ * scheduled by wall clock regardless of how quickly earlier ones finish;
+ * when load.maxConcurrency arrivals are already in flight the new one is
+ * dropped and counted instead of queued.
+ */
+public class LoadRunner {
+
+    private final LoadProfile profile;
+    private final RowRunner runner;
+
+    public LoadRunner(LoadProfile profile) {
+        this(profile, new RowRunner());
+    }
+
+    public LoadRunner(LoadProfile profile, RowRunner runner) {
+        this.profile = profile;
+        this.runner = runner;
+    }
+
+    public LoadReport run(List<TestCaseData> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Load run needs at least one row");
+        }
+        List<List<TestCaseData>> chains = ChainGroups.partition(rows);
+        LoadReport report = new LoadReport(profile);
+        Semaphore inFlight = new Semaphore(profile.getMaxConcurrency());
+        ExecutorService workers = Executors.newCachedThreadPool(workerThreads());
+
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        try {
+            for (long arrival = 0; ; arrival++) {
+                long due = start + profile.arrivalOffsetNanos(arrival);
+                if (due >= end) {
+                    break;
+                }
+                sleepUntil(due);
+                report.arrival();
+                if (!inFlight.tryAcquire()) {
+                    report.dropped();
+                    continue;
+                }
+                List<TestCaseData> chain = chains.get((int) (arrival % chains.size()));
+                workers.execute(() -> {
+                    try {
+                        runChain(chain, due, report);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private void runChain(List<TestCaseData> chain, long intendedStart, LoadReport report) {
+        ContextScopes scopes = new ContextScopes(DataContext.global().child());
+        for (TestCaseData row : chain) {
+            report.record(runner.runOnce(row, scopes.contextFor(row)));
+        }
+        report.chainCompleted(System.nanoTime() - intendedStart);
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "load-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.automation.api.execution;
+
+import com.automation.api.reporting.ReportPaths;
+import com.automation.api.reporting.ShardMerger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a TestNG suite as N shards in N local JVMs and merges their reports,
+ * the same way shards on separate nodes would be run and merged, but with
+ * no coordinator besides this process.
+ * <p>
+ * java -cp target/test-classes:target/classes:$(deps) com.automation.api.execution.LocalShardRunner 4 [testng.xml]
+ * <p>
+ * Shard i runs with -Dshard.index=i -Dshard.count=N, plus the other -D
+ * options given to this JVM, and writes to target/shard-i (console output in
+ * console.log). The merged api-summary.html and latency-histograms.hlog go
+ * to target. The exit code is the highest exit code of any shard.
+ */
+public final class LocalShardRunner {
+
+    private static final Logger logger = LogManager.getLogger(LocalShardRunner.class);
+
+    private static final String DEFAULT_SUITE = "src/test/resources/testng.xml";
+
+    private LocalShardRunner() {
+    }
+
+    public static int run(int shards, String suite, Path outputDir) throws IOException, InterruptedException {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> forwarded = new ArrayList<>();
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // each shard gets its own shard.* and report.* paths below
+            if (argument.startsWith("-D") && !argument.startsWith("-Dshard.")
+                    && !argument.startsWith("-Dreport.dir=") && !argument.startsWith("-Dreport.spoolFile=")) {
+                forwarded.add(argument);
+            }
+        }
+
+        List<Process> processes = new ArrayList<>();
+        List<Path> shardDirs = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            Path shardDir = outputDir.resolve("shard-" + i);
+            Files.createDirectories(shardDir);
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.addAll(forwarded);
+            command.add("-Dshard.index=" + i);
+            command.add("-Dshard.count=" + shards);
+            command.add("-Dreport.dir=" + shardDir);
+            command.add("org.testng.TestNG");
+            command.add("-d");
+            command.add(shardDir.resolve("testng-output").toString());
+            command.add(suite);
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(shardDir.resolve("console.log").toFile())
+                    .start());
+            shardDirs.add(shardDir);
+        }
+
+        int exitCode = 0;
+        for (int i = 0; i < processes.size(); i++) {
+            int code = processes.get(i).waitFor();
+            logger.info("Shard {} of {} exited with {}", i, shards, code);
+            exitCode = Math.max(exitCode, code);
+        }
+        ShardMerger.merge(shardDirs, outputDir);
+        return exitCode;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 2) {
+            throw new IllegalArgumentException("Usage: LocalShardRunner <shards> [testng.xml]");
+        }
+        int shards = Integer.parseInt(args[0]);
+        String suite = args.length > 1 ? args[1] : DEFAULT_SUITE;
+        Path outputDir = Paths.get(System.getProperty("report.dir", "target"));
+        System.exit(run(shards, suite, outputDir));
+    }
+}
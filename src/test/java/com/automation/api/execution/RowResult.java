@@ -0,0 +1,55 @@
+package com.automation.api.execution;
+
+/**
+ * Outcome of running a single CSV row outside of TestNG.
+ */
+public class RowResult {
+
+    private final String testId;
+    private final boolean passed;
+    private final Throwable error;
+    private final long latencyNanos;
+    private final int executions;
+
+    public RowResult(String testId, boolean passed, Throwable error, long latencyNanos, int executions) {
+        this.testId = testId;
+        this.passed = passed;
+        this.error = error;
+        this.latencyNanos = latencyNanos;
+        this.executions = executions;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Time spent sending the request and reading the response, summed over
+     * every execution of the row (see repeat), or 0 if it was never sent.
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Number of times the request was sent, including a failed last one.
+     */
+    public int getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Mean latency of one execution, or 0 if the request was never sent.
+     */
+    public long getMeanLatencyNanos() {
+        return executions == 0 ? 0 : latencyNanos / executions;
+    }
+}
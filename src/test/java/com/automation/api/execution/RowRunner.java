@@ -0,0 +1,95 @@
+package com.automation.api.execution;
+
+import com.automation.api.core.DataContext;
+import com.automation.api.core.ParsedResponse;
+import com.automation.api.core.RequestBuilder;
+import com.automation.api.core.ResponseChainingProcessor;
+import com.automation.api.core.ResponseValidator;
+import com.automation.api.model.TestCaseData;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Runs one CSV row end to end: build, send, chain and validate.
+ * <p>
+ * This is the TestNG-independent core of CsvApiTest, used by the execution
+ * engines that schedule rows themselves. It does no reporting.
+ */
+public class RowRunner {
+
+    private final HostLimiter hostLimiter;
+
+    public RowRunner() {
+        this(null);
+    }
+
+    /**
+     * @param hostLimiter optional per-host concurrency limit, may be null
+     */
+    public RowRunner(HostLimiter hostLimiter) {
+        this.hostLimiter = hostLimiter;
+    }
+
+    /**
+     * Run the row as many times as its repeat column says, then check its
+     * aggregate latency expectations over those executions.
+     */
+    public RowResult run(TestCaseData row, DataContext context) {
+        return execute(row, context, true);
+    }
+
+    /**
+     * Send the row once, ignoring repeat and aggregate expectations. Used
+     * when the caller repeats rows itself and aggregates across calls (load runs).
+     */
+    public RowResult runOnce(TestCaseData row, DataContext context) {
+        return execute(row, context, false);
+    }
+
+    private RowResult execute(TestCaseData row, DataContext context, boolean repeated) {
+        String testId = row.getTestCaseId();
+        long latency = 0;
+        int executions = 0;
+        try {
+            RequestBuilder.BuiltRequest built = RequestBuilder.build(row, context);
+            TestCaseData data = built.getData();
+            int repeat = repeated ? data.getRepeat() : 1;
+            Histogram latencies = repeated && ResponseValidator.hasAggregateExpectations(data)
+                    ? new Histogram(3)
+                    : null;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < repeat; i++) {
+                ParsedResponse response;
+                HostLimiter.Permit permit = hostLimiter == null ? null : hostLimiter.acquire(built.getUrl());
+                try {
+                    response = built.execute();
+                } finally {
+                    long executed = built.getLatencyNanos();
+                    if (executed >= 0) {
+                        latency += executed;
+                        executions++;
+                        if (latencies != null) {
+                            latencies.recordValue(executed);
+                        }
+                    }
+                    if (permit != null) {
+                        permit.close();
+                    }
+                }
+
+                ResponseChainingProcessor.capture(response, data, context);
+                ResponseValidator.validate(response, data, context);
+                ResponseValidator.validateLatency(built.getTiming(), data);
+            }
+            if (latencies != null) {
+                ResponseValidator.validateAggregates(data, latencies, System.nanoTime() - start);
+            }
+            return new RowResult(testId, true, null, latency, executions);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new RowResult(testId, false, e, latency, executions);
+        } catch (Exception | AssertionError e) {
+            return new RowResult(testId, false, e, latency, executions);
+        }
+    }
+}
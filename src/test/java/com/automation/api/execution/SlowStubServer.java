@@ -0,0 +1,63 @@
+package com.automation.api.execution;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Local HTTP stub that answers every request with a small JSON body after a
+ * fixed delay. Used by benchmarks to simulate a latency-bound target API
+ * without any network access.
+ */
+public class SlowStubServer implements AutoCloseable {
+
+    private static final byte[] BODY = "{\"id\":\"42\",\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param delayMillis time to wait before answering each request
+     * @param executor    executor for the handlers; it must be able to hold
+     *                    as many sleeping handlers as there are concurrent requests
+     */
+    public SlowStubServer(long delayMillis, ExecutorService executor) throws IOException {
+        this.executor = executor;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Base URL of the stub, e.g. http://127.0.0.1:54321
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.automation.api.reporting;
+
+import com.automation.api.config.ConfigManager;
+
+import java.util.Locale;
+
+/**
+ * How much of the request and response bodies the logs, the Extent report
+ * and the HTML summary keep (report.bodyCapture):
+ * - none: no bodies
+ * - failure: full bodies of failed tests only
+ * - truncated: every body, cut at report.bodyMaxChars (the default)
+ * - full: every body in full
+ */
+public enum BodyCapture {
+    NONE, FAILURE, TRUNCATED, FULL;
+
+    private static final BodyCapture CONFIGURED =
+            parse(ConfigManager.getOrDefault("report.bodyCapture", "truncated"));
+
+    private static final int MAX_CHARS =
+            Integer.parseInt(ConfigManager.getOrDefault("report.bodyMaxChars", "4000"));
+
+    public static BodyCapture configured() {
+        return CONFIGURED;
+    }
+
+    static BodyCapture parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid report.bodyCapture '" + value
+                    + "' (expected none, failure, truncated or full)");
+        }
+    }
+
+    /**
+     * Whether the bodies of a test with this outcome are kept.
+     */
+    public boolean keeps(boolean failed) {
+        return switch (this) {
+            case NONE -> false;
+            case FAILURE -> failed;
+            case TRUNCATED, FULL -> true;
+        };
+    }
+
+    /**
+     * Longest body kept, in characters.
+     */
+    public int maxChars() {
+        return this == TRUNCATED ? MAX_CHARS : Integer.MAX_VALUE;
+    }
+
+    /**
+     * The text cut to {@link #maxChars()}, marked if anything was dropped.
+     */
+    public String truncate(String text) {
+        if (text == null || text.length() <= maxChars()) {
+            return text;
+        }
+        return text.substring(0, maxChars()) + "\n... (truncated)";
+    }
+}
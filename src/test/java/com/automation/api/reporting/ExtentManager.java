@@ -13,7 +13,7 @@ public class ExtentManager {
 
     public static synchronized ExtentReports getInstance() {
         if (extent == null) {
-            String reportPath = "target/extent-report.html";
+            String reportPath = ReportPaths.dir().resolve(ReportPaths.EXTENT).toString();
             ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
             spark.config().setTheme(Theme.STANDARD);
             spark.config().setDocumentTitle("REST API CSV Automation Report");
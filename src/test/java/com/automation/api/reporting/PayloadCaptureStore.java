@@ -0,0 +1,123 @@
+package com.automation.api.reporting;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Headers and bodies of passing tests, kept in memory within a byte budget
+ * (report.payloadBudgetBytes) until the summary is written.
+ * <p>
+ * Failed and capture_payload rows carry their payloads in the spooled
+ * record itself, so they never count here. Passing payloads are only nice
+ * to have: once the budget is exceeded the oldest ones are evicted, and
+ * their rows show the size and hash fingerprint recorded for every test.
+ * Memory therefore stays flat however many rows pass.
+ */
+final class PayloadCaptureStore {
+
+    /**
+     * Rough per-payload overhead on top of the characters themselves.
+     */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final long budgetBytes;
+    private final Map<Long, Payload> payloads = new LinkedHashMap<>(); // oldest first
+    private long nextId = 1;
+    private long retainedBytes;
+    private long stored;
+    private long evicted;
+
+    PayloadCaptureStore(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * The parts of a record a passing test may lose to the budget.
+     */
+    static final class Payload {
+        private final Map<String, String> requestHeaders;
+        private final String requestBody;
+        private final Map<String, String> responseHeaders;
+        private final String responseBody;
+        private final long bytes;
+
+        Payload(Map<String, String> requestHeaders, String requestBody,
+                Map<String, String> responseHeaders, String responseBody) {
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+            this.responseHeaders = responseHeaders;
+            this.responseBody = responseBody;
+            this.bytes = ENTRY_OVERHEAD + 2L * (length(requestHeaders) + length(requestBody)
+                    + length(responseHeaders) + length(responseBody));
+        }
+
+        private static long length(String text) {
+            return text == null ? 0 : text.length();
+        }
+
+        private static long length(Map<String, String> map) {
+            long total = 0;
+            if (map != null) {
+                for (Map.Entry<String, String> entry : map.entrySet()) {
+                    total += length(entry.getKey()) + length(entry.getValue()) + 16;
+                }
+            }
+            return total;
+        }
+
+        void applyTo(TestRunRecord record) {
+            record.setRequestHeaders(requestHeaders);
+            record.setRequestBody(requestBody);
+            record.setResponseHeaders(responseHeaders);
+            record.setResponseBody(responseBody);
+        }
+    }
+
+    /**
+     * Keep a payload, evicting the oldest ones while over budget. Returns
+     * its id, or 0 if it is larger than the whole budget.
+     */
+    synchronized long put(Payload payload) {
+        stored++;
+        if (payload.bytes > budgetBytes) {
+            evicted++;
+            return 0;
+        }
+        long id = nextId++;
+        payloads.put(id, payload);
+        retainedBytes += payload.bytes;
+        Iterator<Payload> oldest = payloads.values().iterator();
+        while (retainedBytes > budgetBytes && oldest.hasNext()) {
+            retainedBytes -= oldest.next().bytes;
+            oldest.remove();
+            evicted++;
+        }
+        return id;
+    }
+
+    /**
+     * Fill in the record's payload if it is still held.
+     */
+    synchronized void restore(TestRunRecord record) {
+        Payload payload = record.getPayloadId() == 0 ? null : payloads.get(record.getPayloadId());
+        if (payload != null) {
+            payload.applyTo(record);
+        }
+    }
+
+    synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Passing payloads offered, including evicted ones.
+     */
+    synchronized long getStoredCount() {
+        return stored;
+    }
+
+    synchronized long getEvictedCount() {
+        return evicted;
+    }
+}
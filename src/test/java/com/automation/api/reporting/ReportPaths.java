@@ -0,0 +1,38 @@
+package com.automation.api.reporting;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.core.Shard;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Where a run writes its reports: report.dir, by default target, or
+ * target/shard-N for shard N of a sharded run so that shards started from
+ * the same checkout do not overwrite each other. {@link ShardMerger} reads
+ * the same file names back from each shard's directory.
+ */
+public final class ReportPaths {
+
+    public static final String SUMMARY = "api-summary.html";
+    public static final String SPOOL = "api-summary-records.jsonl";
+    public static final String LATENCY_LOG = "latency-histograms.hlog";
+    public static final String EXTENT = "extent-report.html";
+
+    private ReportPaths() {
+    }
+
+    public static Path dir() {
+        Shard shard = Shard.fromConfig();
+        return Paths.get(ConfigManager.getOrDefault("report.dir",
+                shard.isSharded() ? "target/shard-" + shard.getIndex() : "target"));
+    }
+
+    /**
+     * The spool file: report.spoolFile if set, otherwise in {@link #dir()}.
+     */
+    public static Path spoolFile() {
+        String configured = ConfigManager.getOrDefault("report.spoolFile", "");
+        return configured.isEmpty() ? dir().resolve(SPOOL) : Paths.get(configured);
+    }
+}
@@ -0,0 +1,120 @@
+package com.automation.api.reporting;
+
+import com.automation.api.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs logging and report formatting off the request threads.
+ * <p>
+ * Tasks go into a bounded queue (report.queueCapacity) and a single
+ * consumer thread runs them in submission order, so everything about one
+ * test is logged and reported together and ExtentTest / TestRunRecord
+ * objects are only touched by one thread at a time. A full queue makes
+ * submitters wait: a slow disk slows the run down instead of growing memory.
+ * Objects handed to a task, such as a ParsedResponse, must not be used by
+ * the submitting thread afterwards.
+ * <p>
+ * A task that throws, Errors included, is logged and skipped; should the
+ * consumer thread die anyway, the next submit starts a new one.
+ * {@link #drain()} gives up after report.drainTimeoutSeconds.
+ */
+public final class ReportPipeline {
+
+    private static final Logger logger = LogManager.getLogger(ReportPipeline.class);
+
+    private static final BlockingQueue<Runnable> QUEUE = new ArrayBlockingQueue<>(
+            Integer.parseInt(ConfigManager.getOrDefault("report.queueCapacity", "4096")));
+
+    private static final long DRAIN_TIMEOUT_SECONDS =
+            Long.parseLong(ConfigManager.getOrDefault("report.drainTimeoutSeconds", "60"));
+
+    private static volatile Thread consumer;
+
+    private ReportPipeline() {
+    }
+
+    public static void submit(Runnable task) {
+        ensureConsumer();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    QUEUE.put(task);
+                    return;
+                } catch (InterruptedException e) {
+                    // only the consumer may run the task; keep waiting for room
+                    interrupted = true;
+                    ensureConsumer();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Wait until every task submitted so far has run, or until
+     * report.drainTimeoutSeconds have passed.
+     */
+    public static void drain() {
+        if (consumer == null) {
+            return;
+        }
+        ensureConsumer();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            if (!QUEUE.offer(done::countDown, DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    || !done.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                logger.warn("Reporting did not finish within {} s; {} tasks left unreported",
+                        DRAIN_TIMEOUT_SECONDS, QUEUE.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void ensureConsumer() {
+        Thread current = consumer;
+        if (current == null || !current.isAlive()) {
+            start();
+        }
+    }
+
+    private static synchronized void start() {
+        if (consumer == null || !consumer.isAlive()) {
+            if (consumer != null) {
+                logger.warn("Reporting thread died; starting a new one");
+            }
+            Thread thread = new Thread(ReportPipeline::consume, "report-pipeline");
+            thread.setDaemon(true);
+            thread.start();
+            consumer = thread;
+        }
+    }
+
+    private static void consume() {
+        while (true) {
+            Runnable task;
+            try {
+                task = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // an Error in one report line must not stop the others
+                logger.warn("Reporting task failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.automation.api.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only file of finished {@link TestRunRecord}s, one JSON object per
+ * line. Memory does not grow with the run.
+ * <p>
+ * Test threads serialize their own record and push the bytes onto a
+ * lock-free queue. Whichever appender then wins a compare-and-set becomes
+ * the writer for a moment: it drains up to MAX_BATCH queued records, the
+ * other threads' included, to the file and flushes, then gives the next
+ * appender a chance to take over and carries on itself if none does.
+ * Appenders that lose the race return at once, so no thread blocks on
+ * another; they only yield when more than MAX_PENDING records are waiting.
+ * The queue is empty whenever no append is in progress, so a crashed run
+ * leaves every record on disk except those queued at the moment it died.
+ * <p>
+ * The report lists records in testcase_id order, whatever order they
+ * finished in; the (testcase_id, offset) index for that is built by
+ * {@link #scan scanning} the file once the run is over.
+ */
+public final class ReportSpool {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Records one appender writes before leaving the rest to the next one.
+     */
+    private static final int MAX_BATCH = 256;
+
+    /**
+     * Queued records beyond which appenders wait for the writer.
+     */
+    private static final int MAX_PENDING = 4096;
+
+    /**
+     * testcase_id with digit runs compared as numbers (TC2 before TC10),
+     * then file position for repeated ids.
+     */
+    static final Comparator<Entry> BY_TEST_ID = (a, b) -> {
+        int c = compareNatural(a.testId, b.testId);
+        return c != 0 ? c : Long.compare(a.offset, b.offset);
+    };
+
+    private final Path path;
+    private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    // guarded by writing
+    private OutputStream out;
+    private boolean started;
+    private IOException failure;
+
+    public ReportSpool(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Position of one record in the file.
+     */
+    static final class Entry {
+        private final String testId;
+        private final long offset;
+        private final int length;
+
+        Entry(String testId, long offset, int length) {
+            this.testId = testId;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    interface RecordHandler {
+        void accept(TestRunRecord record) throws IOException;
+    }
+
+    /**
+     * Queue a finished record and write whatever is queued unless another
+     * thread is already doing so. Safe to call from any number of threads;
+     * the record is serialized before this returns.
+     */
+    public void append(TestRunRecord record) throws IOException {
+        byte[] line = MAPPER.writeValueAsBytes(record);
+        pending.incrementAndGet();
+        queue.offer(line);
+        while (true) {
+            if (writing.compareAndSet(false, true)) {
+                try {
+                    drain(MAX_BATCH);
+                } finally {
+                    writing.set(false);
+                }
+                // records queued while this thread was writing, or left over
+                // from a full batch, belong to whoever writes next; that is
+                // this thread again unless another appender takes over
+                if (queue.isEmpty()) {
+                    return;
+                }
+            } else if (pending.get() <= MAX_PENDING) {
+                return;
+            } else {
+                // the writer is far behind: let it run rather than grow the queue
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Write everything queued so far and close the file; a later append
+     * reopens it and continues where it left off.
+     */
+    public void close() throws IOException {
+        while (!writing.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            drain(Integer.MAX_VALUE);
+            if (out != null) {
+                out.close();
+            }
+        } catch (IOException e) {
+            failure = failure == null ? e : failure;
+        } finally {
+            out = null;
+            IOException e = failure;
+            failure = null;
+            writing.set(false);
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Records written so far, in testcase_id order. Call after close().
+     */
+    List<Entry> entries() throws IOException {
+        return started && Files.exists(path) ? scan(path) : new ArrayList<>();
+    }
+
+    /**
+     * Write up to max queued records.
+     */
+    private void drain(int max) {
+        if (queue.isEmpty()) {
+            return;
+        }
+        byte[] next;
+        int written = 0;
+        try {
+            if (out == null && failure == null) {
+                Path parent = path.getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                // the first record replaces whatever an earlier run left
+                out = new BufferedOutputStream(Files.newOutputStream(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        started ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING), 1 << 16);
+                started = true;
+            }
+            while (written < max && (next = queue.poll()) != null) {
+                written++;
+                pending.decrementAndGet();
+                if (failure != null) {
+                    continue; // nothing more can be written
+                }
+                out.write(next);
+                out.write('\n');
+            }
+            if (failure == null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            // reported by close(); test threads carry on without the report
+            failure = e;
+        }
+    }
+
+    /**
+     * Pass the given records to the handler in the given order, reading
+     * one at a time.
+     */
+    static void forEach(Path path, List<Entry> entries, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (Entry entry : entries) {
+                ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                        throw new IOException("Report spool " + path + " ends inside a record");
+                    }
+                }
+                handler.accept(MAPPER.readValue(buffer.array(), TestRunRecord.class));
+            }
+        }
+    }
+
+    /**
+     * Index an existing spool file, e.g. one left by a run that did not
+     * finish, in testcase_id order. A truncated last line is ignored.
+     */
+    static List<Entry> scan(Path path) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long start = 0;
+            long position = 0;
+            int b;
+            while ((b = in.read()) >= 0) {
+                position++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                if (line.size() > 0) {
+                    TestRunRecord record = MAPPER.readValue(line.toByteArray(), TestRunRecord.class);
+                    entries.add(new Entry(record.getTestId() == null ? "" : record.getTestId(), start, line.size()));
+                }
+                line.reset();
+                start = position;
+            }
+        }
+        entries.sort(BY_TEST_ID);
+        return entries;
+    }
+
+    private static int compareNatural(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int endA = digitsEnd(a, i);
+                int endB = digitsEnd(b, j);
+                // compare as numbers without parsing: skip leading zeros, then length, then digits
+                while (i < endA - 1 && a.charAt(i) == '0') {
+                    i++;
+                }
+                while (j < endB - 1 && b.charAt(j) == '0') {
+                    j++;
+                }
+                int c = Integer.compare(endA - i, endB - j);
+                if (c == 0) {
+                    c = a.substring(i, endA).compareTo(b.substring(j, endB));
+                }
+                if (c != 0) {
+                    return c;
+                }
+                i = endA;
+                j = endB;
+            } else if (ca != cb) {
+                return Character.compare(ca, cb);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        int c = Integer.compare(a.length() - i, b.length() - j);
+        return c != 0 ? c : a.compareTo(b);
+    }
+
+    private static int digitsEnd(String s, int from) {
+        int end = from;
+        while (end < s.length() && Character.isDigit(s.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+}
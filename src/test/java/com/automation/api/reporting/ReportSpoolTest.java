@@ -0,0 +1,108 @@
+package com.automation.api.reporting;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class ReportSpoolTest {
+
+    private static final int THREADS = 64;
+    private static final int RECORDS = 200_000;
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("report-spool-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void concurrentAppendsAreAllWrittenAndReadBackInTestIdOrder() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            ids.add(i);
+        }
+        Collections.shuffle(ids, new Random(17));
+
+        ReportSpool spool = new ReportSpool(dir.resolve("records.jsonl"));
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> appenders = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int first = t;
+                appenders.add(threads.submit(() -> {
+                    for (int i = first; i < RECORDS; i += THREADS) {
+                        spool.append(record(ids.get(i)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> appender : appenders) {
+                appender.get();
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        // nothing may be left queued once every append has returned
+        try (Stream<String> lines = Files.lines(spool.getPath())) {
+            Assert.assertEquals(lines.count(), RECORDS, "records on disk before close()");
+        }
+
+        spool.close();
+        List<ReportSpool.Entry> entries = spool.entries();
+        Assert.assertEquals(entries.size(), RECORDS);
+        List<String> read = new ArrayList<>(RECORDS);
+        ReportSpool.forEach(spool.getPath(), entries, record -> read.add(record.getTestId()));
+        for (int i = 0; i < RECORDS; i++) {
+            Assert.assertEquals(read.get(i), "TC" + i);
+        }
+    }
+
+    @Test
+    public void appendAfterCloseContinuesTheFile() throws IOException {
+        Path path = dir.resolve("records.jsonl");
+        Files.writeString(path, "left over from an earlier run\n");
+
+        ReportSpool spool = new ReportSpool(path);
+        spool.append(record(10));
+        spool.close();
+        spool.append(record(2));
+        spool.close();
+
+        List<String> read = new ArrayList<>();
+        ReportSpool.forEach(path, spool.entries(), record -> read.add(record.getTestId()));
+        Assert.assertEquals(read, List.of("TC2", "TC10"));
+    }
+
+    private static TestRunRecord record(int id) {
+        TestRunRecord record = new TestRunRecord();
+        record.setTestId("TC" + id);
+        record.setMethod("GET");
+        record.setResult("PASS");
+        return record;
+    }
+}
@@ -0,0 +1,107 @@
+package com.automation.api.reporting;
+
+import com.automation.api.core.LatencyRecorder;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Combines the report directories of several shards (see
+ * {@link ReportPaths}) into one: the spooled records are concatenated and
+ * the latency histograms added up, then api-summary.html and
+ * latency-histograms.hlog are written for the whole suite.
+ * <p>
+ * Shards can run on different machines; copy their directories next to
+ * each other and run {@code ShardMerger <output-dir> <shard-dir>...}.
+ * Headers and bodies of passing tests are only held in memory by the shard
+ * that ran them, so in the merged summary those rows show fingerprints;
+ * failed and capture_payload rows keep their full payloads.
+ */
+public final class ShardMerger {
+
+    private static final Logger logger = LogManager.getLogger(ShardMerger.class);
+
+    private ShardMerger() {
+    }
+
+    public static void merge(List<Path> shardDirs, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        Path spool = outputDir.resolve(ReportPaths.SPOOL);
+        for (Path shardDir : shardDirs) {
+            if (Files.isSameFile(shardDir, outputDir)) {
+                throw new IllegalArgumentException("Output directory must not be a shard directory: " + shardDir);
+            }
+        }
+
+        Map<String, Histogram> latencies = new TreeMap<>();
+        long startMillis = Long.MAX_VALUE;
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            for (Path shardDir : shardDirs) {
+                Path shardSpool = shardDir.resolve(ReportPaths.SPOOL);
+                if (Files.exists(shardSpool)) {
+                    appendCompleteLines(shardSpool, out);
+                } else {
+                    // a shard whose chains were all elsewhere spools nothing
+                    logger.warn("No records in {}", shardDir);
+                }
+                Path log = shardDir.resolve(ReportPaths.LATENCY_LOG);
+                if (Files.exists(log)) {
+                    startMillis = Math.min(startMillis, LatencyRecorder.readLog(log, latencies));
+                }
+            }
+        }
+
+        List<ReportSpool.Entry> entries = ReportSpool.scan(spool);
+        SummaryReportManager.writeHtmlSummary(spool, entries, outputDir.resolve(ReportPaths.SUMMARY), latencies);
+        long endMillis = System.currentTimeMillis();
+        LatencyRecorder.writeLog(outputDir.resolve(ReportPaths.LATENCY_LOG), latencies,
+                startMillis == Long.MAX_VALUE ? endMillis : startMillis, endMillis);
+        logger.info("Merged {} records from {} shards into {}", entries.size(), shardDirs.size(),
+                outputDir.resolve(ReportPaths.SUMMARY));
+    }
+
+    /**
+     * Copy a spool up to its last complete record; a shard that died while
+     * writing may have left half a line.
+     */
+    private static void appendCompleteLines(Path spool, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(spool, StandardOpenOption.READ)) {
+            long end = channel.size();
+            ByteBuffer last = ByteBuffer.allocate(1);
+            while (end > 0) {
+                last.clear();
+                channel.read(last, end - 1);
+                if (last.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            channel.transferTo(0, end, Channels.newChannel(out));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ShardMerger <output-dir> <shard-dir>...");
+        }
+        List<Path> shardDirs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shardDirs.add(Paths.get(args[i]));
+        }
+        merge(shardDirs, Paths.get(args[0]));
+    }
+}
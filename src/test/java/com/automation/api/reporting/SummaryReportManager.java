@@ -1,204 +1,528 @@
 package com.automation.api.reporting;
 
+import com.automation.api.config.ConfigManager;
+import com.automation.api.core.LatencyRecorder;
+import com.automation.api.core.ParsedResponse;
 import com.automation.api.core.RequestBuilder;
+import com.automation.api.core.RequestTiming;
 import com.automation.api.model.TestCaseData;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import io.restassured.response.Response;
+import io.restassured.http.Headers;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Collects per-test data during execution and writes a compact HTML
  * summary report with one row per test and expandable JSON columns.
+ * <p>
+ * Finished records are spooled to report.spoolFile as they complete (see
+ * {@link ReportSpool}) rather than kept in memory; the report is built
+ * from the spool at the end in testcase_id order, split into pages so
+ * large runs stay readable. Bodies are formatted on the
+ * {@link ReportPipeline} thread, as far as {@link BodyCapture} keeps them.
  */
 public class SummaryReportManager {
 
-    private static final List<TestRunRecord> RECORDS =
-            Collections.synchronizedList(new ArrayList<>());
+    private static final Logger logger = LogManager.getLogger(SummaryReportManager.class);
 
-    private static final ThreadLocal<TestRunRecord> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Pending> CURRENT = new ThreadLocal<>();
 
     private static final ObjectMapper MAPPER = new ObjectMapper()
             .enable(SerializationFeature.INDENT_OUTPUT);
 
+    private static final ReportSpool SPOOL = new ReportSpool(ReportPaths.spoolFile());
+
+    private static final int PAGE_SIZE =
+            Integer.parseInt(ConfigManager.getOrDefault("report.pageSize", "500"));
+
+    // records that could not be spooled and are missing from the summary
+    private static final AtomicLong SPOOL_FAILURES = new AtomicLong();
+
+    private static final PayloadCaptureStore PAYLOADS = new PayloadCaptureStore(
+            Long.parseLong(ConfigManager.getOrDefault("report.payloadBudgetBytes", "67108864")));
+
     private SummaryReportManager() {
     }
 
+    /**
+     * The record of the test running on this thread, and what is needed to
+     * fill in the rest of it once the outcome is known.
+     */
+    private static final class Pending {
+        private final TestRunRecord record = new TestRunRecord();
+        private Map<String, String> requestHeaders;
+        private boolean flagged;
+        private byte[] requestBody;
+        private ParsedResponse response;
+        private RequestTiming timing;
+    }
+
     public static void start(TestCaseData data, RequestBuilder.BuiltRequest built) {
-        TestRunRecord record = new TestRunRecord();
+        Pending pending = new Pending();
+        TestRunRecord record = pending.record;
         record.setTestId(nullToEmpty(data.getTestCaseId()));
         record.setTestName(nullToEmpty(data.getTestCaseName()));
         record.setMethod(nullToEmpty(built.getMethod()));
         record.setUrl(nullToEmpty(built.getUrl()));
-        record.setRequestHeaders(new LinkedHashMap<>(data.getHeaderFields()));
         record.setRequestQueryParams(new LinkedHashMap<>(data.getRequestFields()));
-        record.setRequestBody(prettyIfJson(nullToEmpty(built.getBody())));
-        RECORDS.add(record);
-        CURRENT.set(record);
+        pending.requestHeaders = new LinkedHashMap<>(data.getHeaderFields());
+        pending.flagged = data.isCapturePayload();
+        pending.requestBody = built.getBodyBytes();
+        CURRENT.set(pending);
     }
 
-    public static void attachResponse(Response response) {
-        TestRunRecord record = CURRENT.get();
-        if (record == null || response == null) {
+    /**
+     * Remember the response to report; it is formatted by {@link #finish()}.
+     */
+    public static void attachResponse(ParsedResponse response, RequestTiming timing) {
+        Pending pending = CURRENT.get();
+        if (pending == null || response == null) {
             return;
         }
-        record.setResponseStatus(String.valueOf(response.getStatusCode()));
-        record.setResponseHeaders(flattenHeaders(response));
-
-        String body = response.getBody().asString();
-        record.setResponseBody(truncate(prettyIfJson(body), 4000));
+        pending.response = response;
+        pending.timing = timing;
     }
 
     public static void markResult(String result, Throwable error) {
-        TestRunRecord record = CURRENT.get();
-        if (record == null) {
+        Pending pending = CURRENT.get();
+        if (pending == null) {
             return;
         }
-        record.setResult(result);
+        pending.record.setResult(result);
         if (error != null) {
-            record.setErrorMessage(truncate(error.getMessage(), 1000));
+            pending.record.setErrorMessage(truncate(error.getMessage(), 1000));
         }
     }
 
-    public static void clearCurrent() {
+    /**
+     * Finish the current test: hand its record to the {@link ReportPipeline},
+     * which fingerprints the bodies, keeps the payloads as described in
+     * {@link #complete} and appends the record to the spool. The attached
+     * response must not be used by this thread afterwards.
+     */
+    public static void finish() {
+        Pending pending = CURRENT.get();
         CURRENT.remove();
+        if (pending == null) {
+            return;
+        }
+        ReportPipeline.submit(() -> complete(pending));
     }
 
-    public static void writeHtmlSummary(String outputPath) {
-        List<TestRunRecord> snapshot;
-        synchronized (RECORDS) {
-            snapshot = new ArrayList<>(RECORDS);
+    /**
+     * Every test gets size and SHA-256 fingerprints of its bodies. Full
+     * headers and bodies go into the spooled record for failed tests and
+     * capture_payload rows (unless report.bodyCapture is none); for other
+     * passing tests they are cut to the {@link BodyCapture} policy and held
+     * in the budgeted {@link PayloadCaptureStore}, if the policy keeps them.
+     */
+    private static void complete(Pending pending) {
+        TestRunRecord record = pending.record;
+        BodyCapture capture = BodyCapture.configured();
+        ParsedResponse response = pending.response;
+        if (pending.timing != null) {
+            record.setDurationNanos(pending.timing.getTotalNanos());
+            record.setTimingBreakdown(pending.timing.toString());
+        }
+        if (pending.requestBody != null) {
+            record.setRequestBytes(pending.requestBody.length);
+            record.setRequestSha256(sha256(pending.requestBody));
+        }
+        if (response != null) {
+            record.setResponseStatus(String.valueOf(response.getStatusCode()));
+            byte[] body = response.getBodyBytes(); // null when streamed
+            if (body != null) {
+                record.setResponseBytes(body.length);
+                record.setResponseSha256(sha256(body));
+            }
         }
 
-        Path path = Paths.get(outputPath);
+        boolean failed = "FAIL".equalsIgnoreCase(record.getResult());
+        if (capture != BodyCapture.NONE && (failed || pending.flagged)) {
+            payload(pending, BodyCapture.FULL).applyTo(record);
+        } else if (capture.keeps(false)) {
+            record.setPayloadId(PAYLOADS.put(payload(pending, capture)));
+        }
         try {
-            Path parent = path.getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
-            }
+            SPOOL.append(record);
         } catch (IOException e) {
-            // If we cannot create directories, just bail out quietly.
-            return;
+            SPOOL_FAILURES.incrementAndGet();
+            logger.warn("Could not spool the record of test {}; it will be missing from the summary",
+                    record.getTestId(), e);
+        }
+    }
+
+    private static PayloadCaptureStore.Payload payload(Pending pending, BodyCapture capture) {
+        String requestBody = pending.requestBody == null ? null : capture.truncate(prettyIfJson(pending.requestBody));
+        ParsedResponse response = pending.response;
+        return new PayloadCaptureStore.Payload(pending.requestHeaders, requestBody,
+                response == null ? null : flattenHeaders(response.getHeaders()),
+                response == null ? null : capture.truncate(response.prettyBody(capture.maxChars())));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JVM has SHA-256
+        }
+    }
+
+    /**
+     * Write the summary from this run's spooled records: an index page with
+     * the totals and latency table, plus pages of report.pageSize tests
+     * each next to it (api-summary.html -> api-summary-pages/page-N.html).
+     */
+    public static void writeHtmlSummary(String outputPath) {
+        ReportPipeline.drain();
+        try {
+            SPOOL.close();
+            writeHtmlSummary(SPOOL.getPath(), SPOOL.entries(), Paths.get(outputPath), LatencyRecorder.snapshot());
+        } catch (IOException e) {
+            logger.warn("Could not write the summary report {}", outputPath, e);
+        }
+    }
+
+    /**
+     * Rebuild the summary from a spool file, e.g. one left by a run that
+     * did not finish: {@code <spool.jsonl> <summary.html>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: SummaryReportManager <spool.jsonl> <summary.html>");
+        }
+        Path spool = Paths.get(args[0]);
+        writeHtmlSummary(spool, ReportSpool.scan(spool), Paths.get(args[1]), Collections.emptyMap());
+    }
+
+    /**
+     * Write the summary for the given records of a spool file, e.g. one
+     * merged from several shards by {@link ShardMerger}.
+     */
+    static void writeHtmlSummary(Path spool, List<ReportSpool.Entry> entries, Path output,
+                                 Map<String, Histogram> latencies) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        String baseName = output.getFileName().toString().replaceFirst("\\.html?$", "");
+        Path pagesDir = parent.resolve(baseName + "-pages");
+        Files.createDirectories(pagesDir);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(pagesDir, "page-*.html")) {
+            for (Path page : stale) {
+                Files.delete(page);
+            }
         }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            writer.write("<!DOCTYPE html>\n");
-            writer.write("<html lang=\"en\">\n");
-            writer.write("<head>\n");
-            writer.write("<meta charset=\"UTF-8\" />\n");
-            writer.write("<title>REST API CSV Automation Summary</title>\n");
-            writer.write("<style>\n");
-            writer.write("body { font-family: system-ui, -apple-system, BlinkMacSystemFont, 'Segoe UI', sans-serif; font-size: 14px; margin: 16px; }\n");
-            writer.write("h1 { font-size: 20px; margin-bottom: 8px; }\n");
-            writer.write("table { border-collapse: collapse; width: 100%; table-layout: auto; }\n");
-            writer.write("th, td { border: 1px solid #ddd; padding: 6px 8px; vertical-align: top; word-wrap: break-word; }\n");
-            writer.write("th { background-color: #f4f4f4; position: sticky; top: 0; z-index: 1; }\n");
-            writer.write(".pass { background-color: #e6ffed; }\n");
-            writer.write(".fail { background-color: #ffecec; }\n");
-            writer.write(".skip { background-color: #fff8e1; }\n");
-            writer.write(".status-badge { font-weight: 600; padding: 2px 8px; border-radius: 999px; color: #ffffff; display: inline-block; }\n");
-            writer.write(".status-pass { background-color: #2e7d32; }\n");
-            writer.write(".status-fail { background-color: #c62828; }\n");
-            writer.write(".status-skip { background-color: #f9a825; }\n");
-            writer.write("details > summary { cursor: pointer; color: #1976d2; }\n");
-            writer.write("pre { white-space: pre-wrap; margin: 4px 0 0 0; }\n");
-            writer.write(".section { margin-top: 4px; }\n");
-            writer.write(".section-title { font-weight: 600; margin-top: 4px; margin-bottom: 2px; }\n");
-            writer.write(".spacer { height: 4px; }\n");
-            writer.write(".kv { width: 100%; border-collapse: collapse; }\n");
-            writer.write(".kv td { border: 1px solid #eee; padding: 4px 6px; vertical-align: top; }\n");
-            writer.write(".kv td.key { width: 38%; font-weight: 600; background: #fafafa; }\n");
-            writer.write("</style>\n");
-            writer.write("</head>\n");
-            writer.write("<body>\n");
-            writer.write("<h1>REST API CSV Automation Summary</h1>\n");
+        PageWriter pages = new PageWriter(pagesDir, "../" + output.getFileName());
+        if (!entries.isEmpty()) {
+            try {
+                ReportSpool.forEach(spool, entries, pages::write);
+            } finally {
+                pages.close();
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writeHead(writer, "REST API CSV Automation Summary");
             writer.write("<p>Generated at "
                     + escapeHtml(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
                     + "</p>\n");
 
-            writer.write("<table>\n");
-            writer.write("<thead><tr>");
-            writer.write("<th>Test ID</th>");
-            writer.write("<th>Description</th>");
-            writer.write("<th>Method</th>");
-            writer.write("<th>URL</th>");
-            writer.write("<th style=\"width: 26%;\">Request</th>");
-            writer.write("<th>Status</th>");
-            writer.write("<th>Result</th>");
-            writer.write("<th>Error</th>");
-            writer.write("<th style=\"width: 26%;\">Response</th>");
-            writer.write("</tr></thead>\n");
-            writer.write("<tbody>\n");
-
-            for (TestRunRecord record : snapshot) {
-                String result = nullToEmpty(record.getResult());
-                String rowClass = switch (result.toUpperCase()) {
-                    case "PASS" -> "pass";
-                    case "FAIL" -> "fail";
-                    case "SKIP" -> "skip";
-                    default -> "";
-                };
-                writer.write("<tr class=\"" + rowClass + "\">");
-                writer.write("<td>" + escapeHtml(record.getTestId()) + "</td>");
-                writer.write("<td>" + escapeHtml(record.getTestName()) + "</td>");
-                writer.write("<td>" + escapeHtml(record.getMethod()) + "</td>");
-                writer.write("<td>" + escapeHtml(record.getUrl()) + "</td>");
-
-                // Request (headers + params/body)
-                writer.write("<td>");
-                writeRequestCell(writer, record);
-                writer.write("</td>");
-
-                // Response status
-                writer.write("<td>" + escapeHtml(nullToEmpty(record.getResponseStatus())) + "</td>");
-
-                // Result badge
-                String badgeClass = switch (result.toUpperCase()) {
-                    case "PASS" -> "status-badge status-pass";
-                    case "FAIL" -> "status-badge status-fail";
-                    case "SKIP" -> "status-badge status-skip";
-                    default -> "status-badge";
-                };
-                writer.write("<td><span class=\"" + badgeClass + "\">" + escapeHtml(result) + "</span></td>");
-
-                // Error
-                writer.write("<td>" + escapeHtml(nullToEmpty(record.getErrorMessage())) + "</td>");
-
-                // Response (headers + body)
-                writer.write("<td>");
-                writeResponseCell(writer, record);
-                writer.write("</td>");
-
-                writer.write("</tr>\n");
+            writer.write("<p>Tests: " + pages.total);
+            for (Map.Entry<String, Integer> entry : pages.resultCounts.entrySet()) {
+                String result = entry.getKey().isEmpty() ? "NO RESULT" : entry.getKey();
+                writer.write(" &middot; " + escapeHtml(result) + ": " + entry.getValue());
+            }
+            writer.write("</p>\n");
+            long skipped = SPOOL_FAILURES.get();
+            if (skipped > 0) {
+                writer.write("<p class=\"fail\">" + skipped + " tests could not be spooled and are missing"
+                        + " from this report; see the log</p>\n");
+                logger.warn("{} tests could not be spooled and are missing from {}", skipped, output);
+            }
+            if (PAYLOADS.getStoredCount() > 0) {
+                writer.write("<p>Passing payloads kept: " + (PAYLOADS.getStoredCount() - PAYLOADS.getEvictedCount())
+                        + " of " + PAYLOADS.getStoredCount() + " (" + PAYLOADS.getRetainedBytes() / 1024
+                        + " KiB, report.payloadBudgetBytes); the rest show fingerprints only</p>\n");
+            }
+
+            writeLatencyTable(writer, latencies);
+
+            if (!pages.summaries.isEmpty()) {
+                writer.write("<h2>Tests</h2>\n");
+                writer.write("<table class=\"latency\">\n");
+                writer.write("<thead><tr><th>Page</th><th>Tests</th><th>First</th><th>Last</th>"
+                        + "<th>Failed</th></tr></thead>\n");
+                writer.write("<tbody>\n");
+                for (PageSummary page : pages.summaries) {
+                    writer.write("<tr" + (page.failed > 0 ? " class=\"fail\"" : "") + ">");
+                    writer.write("<td><a href=\"" + escapeHtml(pagesDir.getFileName() + "/" + pageFile(page.number))
+                            + "\">" + page.number + "</a></td>");
+                    writer.write("<td class=\"num\">" + page.tests + "</td>");
+                    writer.write("<td>" + escapeHtml(page.firstTestId) + "</td>");
+                    writer.write("<td>" + escapeHtml(page.lastTestId) + "</td>");
+                    writer.write("<td class=\"num\">" + page.failed + "</td>");
+                    writer.write("</tr>\n");
+                }
+                writer.write("</tbody>\n");
+                writer.write("</table>\n");
+            }
+            writer.write("</body>\n");
+            writer.write("</html>\n");
+        }
+    }
+
+    private static String pageFile(int number) {
+        return "page-" + number + ".html";
+    }
+
+    /**
+     * One page of the per-test table, as listed on the index page.
+     */
+    private static final class PageSummary {
+        private final int number;
+        private int tests;
+        private int failed;
+        private String firstTestId;
+        private String lastTestId;
+
+        private PageSummary(int number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * Writes records into pages of PAGE_SIZE rows as they are read, keeping
+     * only one open page and a summary line per page.
+     */
+    private static final class PageWriter {
+        private final Path dir;
+        private final String indexLink;
+        private final List<PageSummary> summaries = new ArrayList<>();
+        private final Map<String, Integer> resultCounts = new TreeMap<>();
+        private BufferedWriter writer;
+        private PageSummary current;
+        private int total;
+
+        private PageWriter(Path dir, String indexLink) {
+            this.dir = dir;
+            this.indexLink = indexLink;
+        }
+
+        private void write(TestRunRecord record) throws IOException {
+            if (current != null && current.tests == PAGE_SIZE) {
+                // only now is it known that a next page exists
+                finishPage(true);
+            }
+            if (current == null) {
+                startPage(summaries.size() + 1);
+            }
+            PAYLOADS.restore(record);
+            writeRow(writer, record);
+            String result = nullToEmpty(record.getResult()).toUpperCase();
+            resultCounts.merge(result, 1, Integer::sum);
+            if (current.tests++ == 0) {
+                current.firstTestId = nullToEmpty(record.getTestId());
+            }
+            current.lastTestId = nullToEmpty(record.getTestId());
+            if ("FAIL".equals(result)) {
+                current.failed++;
             }
+            total++;
+        }
+
+        private void startPage(int number) throws IOException {
+            current = new PageSummary(number);
+            summaries.add(current);
+            writer = Files.newBufferedWriter(dir.resolve(pageFile(number)), StandardCharsets.UTF_8);
+            writeHead(writer, "REST API CSV Automation Summary - page " + number);
+            writeNavigation(writer, number, false);
+            writeTableStart(writer);
+        }
 
+        private void finishPage(boolean hasNext) throws IOException {
             writer.write("</tbody>\n");
             writer.write("</table>\n");
+            writeNavigation(writer, current.number, hasNext);
             writer.write("</body>\n");
             writer.write("</html>\n");
-        } catch (IOException e) {
-            // ignore failure to write report
+            writer.close();
+            writer = null;
+            current = null;
+        }
+
+        private void writeNavigation(BufferedWriter writer, int number, boolean hasNext) throws IOException {
+            writer.write("<p class=\"nav\"><a href=\"" + escapeHtml(indexLink) + "\">Summary</a>");
+            if (number > 1) {
+                writer.write(" &middot; <a href=\"" + pageFile(number - 1) + "\">Previous</a>");
+            }
+            if (hasNext) {
+                writer.write(" &middot; <a href=\"" + pageFile(number + 1) + "\">Next</a>");
+            }
+            writer.write("</p>\n");
+        }
+
+        private void close() throws IOException {
+            if (current != null) {
+                finishPage(false);
+            }
+        }
+    }
+
+    private static void writeHead(BufferedWriter writer, String title) throws IOException {
+        writer.write("<!DOCTYPE html>\n");
+        writer.write("<html lang=\"en\">\n");
+        writer.write("<head>\n");
+        writer.write("<meta charset=\"UTF-8\" />\n");
+        writer.write("<title>" + escapeHtml(title) + "</title>\n");
+        writer.write("<style>\n");
+        writer.write("body { font-family: system-ui, -apple-system, BlinkMacSystemFont, 'Segoe UI', sans-serif; font-size: 14px; margin: 16px; }\n");
+        writer.write("h1 { font-size: 20px; margin-bottom: 8px; }\n");
+        writer.write("table { border-collapse: collapse; width: 100%; table-layout: auto; }\n");
+        writer.write("th, td { border: 1px solid #ddd; padding: 6px 8px; vertical-align: top; word-wrap: break-word; }\n");
+        writer.write("th { background-color: #f4f4f4; position: sticky; top: 0; z-index: 1; }\n");
+        writer.write(".pass { background-color: #e6ffed; }\n");
+        writer.write(".fail { background-color: #ffecec; }\n");
+        writer.write(".skip { background-color: #fff8e1; }\n");
+        writer.write(".status-badge { font-weight: 600; padding: 2px 8px; border-radius: 999px; color: #ffffff; display: inline-block; }\n");
+        writer.write(".status-pass { background-color: #2e7d32; }\n");
+        writer.write(".status-fail { background-color: #c62828; }\n");
+        writer.write(".status-skip { background-color: #f9a825; }\n");
+        writer.write("details > summary { cursor: pointer; color: #1976d2; }\n");
+        writer.write("pre { white-space: pre-wrap; margin: 4px 0 0 0; }\n");
+        writer.write(".section { margin-top: 4px; }\n");
+        writer.write(".section-title { font-weight: 600; margin-top: 4px; margin-bottom: 2px; }\n");
+        writer.write(".spacer { height: 4px; }\n");
+        writer.write(".kv { width: 100%; border-collapse: collapse; }\n");
+        writer.write(".kv td { border: 1px solid #eee; padding: 4px 6px; vertical-align: top; }\n");
+        writer.write(".kv td.key { width: 38%; font-weight: 600; background: #fafafa; }\n");
+        writer.write(".latency { width: auto; margin-bottom: 16px; }\n");
+        writer.write(".latency td.num { text-align: right; }\n");
+        writer.write("</style>\n");
+        writer.write("</head>\n");
+        writer.write("<body>\n");
+        writer.write("<h1>" + escapeHtml(title) + "</h1>\n");
+    }
+
+    private static void writeTableStart(BufferedWriter writer) throws IOException {
+        writer.write("<table>\n");
+        writer.write("<thead><tr>");
+        writer.write("<th>Test ID</th>");
+        writer.write("<th>Description</th>");
+        writer.write("<th>Method</th>");
+        writer.write("<th>URL</th>");
+        writer.write("<th style=\"width: 26%;\">Request</th>");
+        writer.write("<th>Status</th>");
+        writer.write("<th>Time (ms)</th>");
+        writer.write("<th>Result</th>");
+        writer.write("<th>Error</th>");
+        writer.write("<th style=\"width: 26%;\">Response</th>");
+        writer.write("</tr></thead>\n");
+        writer.write("<tbody>\n");
+    }
+
+    private static void writeRow(BufferedWriter writer, TestRunRecord record) throws IOException {
+        String result = nullToEmpty(record.getResult());
+        String rowClass = switch (result.toUpperCase()) {
+            case "PASS" -> "pass";
+            case "FAIL" -> "fail";
+            case "SKIP" -> "skip";
+            default -> "";
+        };
+        writer.write("<tr class=\"" + rowClass + "\">");
+        writer.write("<td>" + escapeHtml(record.getTestId()) + "</td>");
+        writer.write("<td>" + escapeHtml(record.getTestName()) + "</td>");
+        writer.write("<td>" + escapeHtml(record.getMethod()) + "</td>");
+        writer.write("<td>" + escapeHtml(record.getUrl()) + "</td>");
+
+        // Request (headers + params/body)
+        writer.write("<td>");
+        writeRequestCell(writer, record);
+        writer.write("</td>");
+
+        // Response status
+        writer.write("<td>" + escapeHtml(nullToEmpty(record.getResponseStatus())) + "</td>");
+
+        // Duration
+        if (record.getDurationNanos() < 0) {
+            writer.write("<td></td>");
+        } else {
+            writer.write("<td title=\"" + escapeHtml(nullToEmpty(record.getTimingBreakdown())) + "\">"
+                    + formatMillis(record.getDurationNanos()) + "</td>");
+        }
+
+        // Result badge
+        String badgeClass = switch (result.toUpperCase()) {
+            case "PASS" -> "status-badge status-pass";
+            case "FAIL" -> "status-badge status-fail";
+            case "SKIP" -> "status-badge status-skip";
+            default -> "status-badge";
+        };
+        writer.write("<td><span class=\"" + badgeClass + "\">" + escapeHtml(result) + "</span></td>");
+
+        // Error
+        writer.write("<td>" + escapeHtml(nullToEmpty(record.getErrorMessage())) + "</td>");
+
+        // Response (headers + body)
+        writer.write("<td>");
+        writeResponseCell(writer, record);
+        writer.write("</td>");
+
+        writer.write("</tr>\n");
+    }
+
+    private static void writeLatencyTable(BufferedWriter writer, Map<String, Histogram> histograms) throws IOException {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        writer.write("<h2>Latency (ms)</h2>\n");
+        writer.write("<table class=\"latency\">\n");
+        writer.write("<thead><tr><th>Endpoint</th><th>Count</th><th>p50</th><th>p90</th>"
+                + "<th>p99</th><th>p99.9</th><th>Max</th></tr></thead>\n");
+        writer.write("<tbody>\n");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            writer.write("<tr>");
+            writer.write("<td>" + escapeHtml(entry.getKey()) + "</td>");
+            writer.write("<td class=\"num\">" + histogram.getTotalCount() + "</td>");
+            for (double percentile : new double[]{50, 90, 99, 99.9}) {
+                writer.write("<td class=\"num\">" + formatMillis(histogram.getValueAtPercentile(percentile)) + "</td>");
+            }
+            writer.write("<td class=\"num\">" + formatMillis(histogram.getMaxValue()) + "</td>");
+            writer.write("</tr>\n");
         }
+        writer.write("</tbody>\n");
+        writer.write("</table>\n");
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f", LatencyRecorder.millis(nanos));
     }
 
     private static void writeRequestCell(BufferedWriter writer, TestRunRecord record) throws IOException {
         Map<String, String> headers = record.getRequestHeaders();
         Map<String, String> params = record.getRequestQueryParams();
-        String body = record.getRequestBody();
+        String body = bodyOrFingerprint(record.getRequestBody(), record.getRequestBytes(), record.getRequestSha256());
         String method = nullToEmpty(record.getMethod()).toUpperCase();
 
         boolean hasHeaders = headers != null && !headers.isEmpty();
@@ -242,7 +566,7 @@ public class SummaryReportManager {
 
     private static void writeResponseCell(BufferedWriter writer, TestRunRecord record) throws IOException {
         Map<String, String> headers = record.getResponseHeaders();
-        String body = record.getResponseBody();
+        String body = bodyOrFingerprint(record.getResponseBody(), record.getResponseBytes(), record.getResponseSha256());
 
         boolean hasHeaders = headers != null && !headers.isEmpty();
         boolean hasBody = body != null && !body.isEmpty();
@@ -272,6 +596,13 @@ public class SummaryReportManager {
         writer.write("</div></details>");
     }
 
+    private static String bodyOrFingerprint(String body, long bytes, String sha256) {
+        if (body != null || bytes <= 0) {
+            return body;
+        }
+        return "(not kept: " + bytes + " bytes, sha256 " + sha256 + ")";
+    }
+
     private static void writeKeyValueTable(BufferedWriter writer, Map<String, String> map) throws IOException {
         if (map == null || map.isEmpty()) {
             writer.write("-");
@@ -287,9 +618,9 @@ public class SummaryReportManager {
         writer.write("</table>");
     }
 
-    private static Map<String, String> flattenHeaders(Response response) {
+    private static Map<String, String> flattenHeaders(Headers headers) {
         Map<String, String> out = new LinkedHashMap<>();
-        response.getHeaders().asList().forEach(h -> {
+        headers.asList().forEach(h -> {
             String name = h.getName();
             String value = h.getValue();
             if (name == null || name.isEmpty()) {
@@ -330,19 +661,14 @@ public class SummaryReportManager {
         return input == null ? "" : input;
     }
 
-    private static String prettyIfJson(String value) {
-        if (value == null) {
+    private static String prettyIfJson(byte[] value) {
+        if (value == null || value.length == 0) {
             return "";
         }
-        String trimmed = value.trim();
-        if (!(trimmed.startsWith("{") || trimmed.startsWith("["))) {
-            return value;
-        }
         try {
-            Object tree = MAPPER.readTree(trimmed);
-            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(tree);
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(MAPPER.readTree(value));
         } catch (Exception e) {
-            return value;
+            return new String(value, StandardCharsets.UTF_8);
         }
     }
 }
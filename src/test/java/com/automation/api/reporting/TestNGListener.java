@@ -1,25 +1,44 @@
 package com.automation.api.reporting;
 
 import com.automation.api.core.DataContext;
+import com.automation.api.core.HttpClientPool;
+import com.automation.api.core.LatencyRecorder;
 import com.automation.api.model.TestCaseData;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.*;
 
+import java.io.IOException;
+
 public class TestNGListener implements ITestListener, IExecutionListener {
 
+    private static final Logger logger = LogManager.getLogger(TestNGListener.class);
+
     @Override
     public void onExecutionStart() {
         // Initialize report and clear any existing chained data
         ExtentManager.getInstance();
-        DataContext.clear();
+        DataContext.global().clear();
+        LatencyRecorder.reset();
     }
 
     @Override
     public void onExecutionFinish() {
+        ReportPipeline.drain();
         ExtentManager.flush();
         // Write custom summary HTML with one row per test
-        SummaryReportManager.writeHtmlSummary("target/api-summary.html");
+        SummaryReportManager.writeHtmlSummary(ReportPaths.dir().resolve(ReportPaths.SUMMARY).toString());
+        LatencyRecorder.snapshot().forEach((key, histogram) ->
+                logger.info("Latency [{}]: {}", key, LatencyRecorder.describe(histogram)));
+        try {
+            LatencyRecorder.writeLog(ReportPaths.dir().resolve(ReportPaths.LATENCY_LOG));
+        } catch (IOException e) {
+            logger.warn("Could not write latency histogram log", e);
+        }
+        HttpClientPool.stats().forEach((key, stats) -> logger.info("HTTP pool [{}]: {}", key, stats));
+        HttpClientPool.shutdown();
     }
 
     @Override
@@ -42,7 +61,8 @@ public class TestNGListener implements ITestListener, IExecutionListener {
     public void onTestSuccess(ITestResult result) {
         ExtentTest test = ExtentTestManager.getTest();
         if (test != null) {
-            test.log(Status.PASS, "Test passed");
+            // after the test's own report lines, which are still queued
+            ReportPipeline.submit(() -> test.log(Status.PASS, "Test passed"));
         }
         ExtentTestManager.endTest();
     }
@@ -51,7 +71,8 @@ public class TestNGListener implements ITestListener, IExecutionListener {
     public void onTestFailure(ITestResult result) {
         ExtentTest test = ExtentTestManager.getTest();
         if (test != null) {
-            test.log(Status.FAIL, result.getThrowable());
+            // after the test's own report lines, which are still queued
+            ReportPipeline.submit(() -> test.log(Status.FAIL, result.getThrowable()));
         }
         ExtentTestManager.endTest();
     }
@@ -60,7 +81,8 @@ public class TestNGListener implements ITestListener, IExecutionListener {
     public void onTestSkipped(ITestResult result) {
         ExtentTest test = ExtentTestManager.getTest();
         if (test != null) {
-            test.log(Status.SKIP, "Test skipped");
+            // after the test's own report lines, which are still queued
+            ReportPipeline.submit(() -> test.log(Status.SKIP, "Test skipped"));
         }
         ExtentTestManager.endTest();
     }
@@ -18,6 +18,14 @@ public class TestRunRecord {
     private String responseStatus;
     private Map<String, String> responseHeaders = new LinkedHashMap<>();
     private String responseBody;
+    // fingerprints, kept for every test whether or not the bodies are
+    private long requestBytes = -1;
+    private String requestSha256;
+    private long responseBytes = -1;
+    private String responseSha256;
+    private long payloadId; // passing test's payload in the PayloadCaptureStore, 0 if none
+    private long durationNanos = -1; // -1 until the request has been sent
+    private String timingBreakdown;
     private String result; // PASS / FAIL / SKIP
     private String errorMessage;
 
@@ -101,6 +109,62 @@ public class TestRunRecord {
         this.responseBody = responseBody;
     }
 
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public void setRequestBytes(long requestBytes) {
+        this.requestBytes = requestBytes;
+    }
+
+    public String getRequestSha256() {
+        return requestSha256;
+    }
+
+    public void setRequestSha256(String requestSha256) {
+        this.requestSha256 = requestSha256;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+
+    public String getResponseSha256() {
+        return responseSha256;
+    }
+
+    public void setResponseSha256(String responseSha256) {
+        this.responseSha256 = responseSha256;
+    }
+
+    public long getPayloadId() {
+        return payloadId;
+    }
+
+    public void setPayloadId(long payloadId) {
+        this.payloadId = payloadId;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public String getTimingBreakdown() {
+        return timingBreakdown;
+    }
+
+    public void setTimingBreakdown(String timingBreakdown) {
+        this.timingBreakdown = timingBreakdown;
+    }
+
     public String getResult() {
         return result;
     }
@@ -1,20 +1,35 @@
 package com.automation.api.tests;
 
+import com.automation.api.config.ConfigManager;
+import com.automation.api.core.CompiledSuite;
+import com.automation.api.core.ContextScopes;
 import com.automation.api.core.CsvTestDataLoader;
+import com.automation.api.core.DataContext;
+import com.automation.api.core.DependencyScheduler;
+import com.automation.api.core.LatencyRecorder;
+import com.automation.api.core.ParsedResponse;
 import com.automation.api.core.RequestBuilder;
+import com.automation.api.core.RequestTiming;
 import com.automation.api.core.ResponseChainingProcessor;
 import com.automation.api.core.ResponseValidator;
+import com.automation.api.core.Shard;
 import com.automation.api.model.TestCaseData;
+import com.automation.api.reporting.BodyCapture;
 import com.automation.api.reporting.ExtentTestManager;
+import com.automation.api.reporting.ReportPipeline;
 import com.automation.api.reporting.SummaryReportManager;
 import com.aventstack.extentreports.ExtentTest;
-import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 public class CsvApiTest {
 
@@ -22,95 +37,179 @@ public class CsvApiTest {
 
     private static final String CSV_PATH = "test-data/sample_api_tests.csv";
 
-    @DataProvider(name = "csvData")
-    public Object[][] csvDataProvider() {
-        List<TestCaseData> list = CsvTestDataLoader.load(CSV_PATH);
-        Object[][] data = new Object[list.size()][1];
-        for (int i = 0; i < list.size(); i++) {
-            data[i][0] = list.get(i);
+    private final DependencyScheduler scheduler = new DependencyScheduler();
+
+    private final ContextScopes scopes = new ContextScopes(DataContext.global());
+
+    private final Semaphore inFlight =
+            new Semaphore(Integer.parseInt(ConfigManager.getOrDefault("dataprovider.maxInFlight", "256")));
+
+    /**
+     * Lazily feeds CSV rows to TestNG so the first request can go out before
+     * the rest of the file has been parsed.
+     * <p>
+     * Rows run concurrently on TestNG's data provider pool (see
+     * data-provider-thread-count in testng.xml); rows linked through store_*
+     * and ${var} columns are ordered by the {@link DependencyScheduler}.
+     * TestNG queues a task for every row it reads, so the iterator stops
+     * handing out rows while dataprovider.maxInFlight of them have not
+     * finished (including rows waiting for a chained dependency). TestNG
+     * still keeps a result, with its row, for every finished invocation.
+     * With suite.artifact set, rows come from that {@link CompiledSuite}
+     * instead of the CSV. With shard.count set, only the chains of this
+     * {@link Shard} run.
+     */
+    @DataProvider(name = "csvData", parallel = true)
+    public Iterator<Object[]> csvDataProvider() {
+        Iterator<TestCaseData> rows = rows();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (rows.hasNext()) {
+                    return true;
+                }
+                scopes.allRegistered();
+                return false;
+            }
+
+            @Override
+            public Object[] next() {
+                TestCaseData row = rows.next();
+                // released once runCsvDrivenApi is done with the row
+                inFlight.acquireUninterruptibly();
+                scheduler.register(row);
+                scopes.register(row);
+                return new Object[]{row};
+            }
+        };
+    }
+
+    private Iterator<TestCaseData> rows() {
+        String artifact = ConfigManager.getOrDefault("suite.artifact", "");
+        Iterator<TestCaseData> rows = artifact.isEmpty()
+                ? CsvTestDataLoader.iterator(CSV_PATH)
+                : CompiledSuite.open(Paths.get(artifact)).iterator();
+        Shard shard = Shard.fromConfig();
+        if (!shard.isSharded()) {
+            return rows;
         }
-        return data;
+        // chains are only known once every row has been read
+        List<TestCaseData> all = new ArrayList<>();
+        rows.forEachRemaining(all::add);
+        List<TestCaseData> selected = shard.select(all);
+        logger.info("Running {}: {} of {} rows", shard, selected.size(), all.size());
+        return selected.iterator();
     }
 
     @Test(dataProvider = "csvData")
-    public void runCsvDrivenApi(TestCaseData data) {
-        RequestBuilder.BuiltRequest built = RequestBuilder.build(data);
+    public void runCsvDrivenApi(TestCaseData row) {
+        scheduler.awaitDependencies(row);
+        try {
+            runRow(row);
+        } finally {
+            scopes.complete(row);
+            scheduler.complete(row);
+            inFlight.release();
+        }
+    }
+
+    private void runRow(TestCaseData row) {
+        DataContext context = scopes.contextFor(row);
+        RequestBuilder.BuiltRequest built = RequestBuilder.build(row, context);
+        TestCaseData data = built.getData();
 
         // Start collecting data for custom HTML summary report
         SummaryReportManager.start(data, built);
-
         ExtentTest test = ExtentTestManager.getTest();
-        if (test != null) {
-            test.info("TestCase ID: " + data.getTestCaseId());
-            test.info("TestCase Name: " + data.getTestCaseName());
-            test.info("HTTP Method: " + built.getMethod());
-            test.info("URL: " + built.getUrl());
-            test.info("Headers: " + data.getHeaderFields());
-            test.info("Request Fields: " + data.getRequestFields());
-            if (built.getBody() != null) {
-                test.info("Request Body: <pre>" + built.getBody() + "</pre>");
-            }
-        }
 
         logger.info("Executing test [{}] {} - {} {}",
                 data.getTestCaseId(),
                 data.getTestCaseName(),
                 built.getMethod(),
                 built.getUrl());
-        logger.info("Request headers: {}", data.getHeaderFields());
-        if (built.getBody() != null) {
-            logger.info("Request body: {}", built.getBody());
-        }
 
-        Response response = null;
+        // repeat > 1 sends the same request again, e.g. for expected_p99_ms
+        int repeat = data.getRepeat();
+        Histogram latencies = ResponseValidator.hasAggregateExpectations(data) ? new Histogram(3) : null;
+        ParsedResponse response = null;
+        Throwable failure = null;
         try {
-            response = execute(built);
-            SummaryReportManager.attachResponse(response);
-
-            String responseBody = response.getBody().asString();
-            logger.info("Response status: {}", response.getStatusCode());
-            logger.info("Response headers: {}", response.getHeaders());
-            logger.info("Response body: {}", responseBody);
-
-            if (test != null) {
-                test.info("Response Status: " + response.getStatusCode());
-                test.info("Response Headers: " + response.getHeaders());
-                test.info("Response Body: <pre>" + escapeHtml(responseBody) + "</pre>");
+            long start = System.nanoTime();
+            for (int i = 1; i <= repeat; i++) {
+                response = built.execute();
+                if (latencies != null) {
+                    latencies.recordValue(built.getLatencyNanos());
+                }
+                if (i < repeat) {
+                    logger.debug("Execution {}/{} of [{}]: status {} in {}",
+                            i, repeat, data.getTestCaseId(), response.getStatusCode(), built.getTiming());
+                }
+
+                // Chaining and validation
+                ResponseChainingProcessor.capture(response, data, context);
+                ResponseValidator.validate(response, data, context);
+                ResponseValidator.validateLatency(built.getTiming(), data);
+            }
+            if (latencies != null) {
+                logger.info("Latency over {} executions: {}", repeat, LatencyRecorder.describe(latencies));
+                ResponseValidator.validateAggregates(data, latencies, System.nanoTime() - start);
             }
-
-            // Chaining and validation
-            ResponseChainingProcessor.capture(response, data);
-            ResponseValidator.validate(response, data);
 
             SummaryReportManager.markResult("PASS", null);
         } catch (Throwable e) {
-            // Attach any response we may have and record failure before rethrowing
-            if (response != null) {
-                SummaryReportManager.attachResponse(response);
-            }
+            failure = e;
             SummaryReportManager.markResult("FAIL", e);
             throw e;
         } finally {
-            SummaryReportManager.clearCurrent();
+            // Logging and reporting happen on the report pipeline; this
+            // thread does not touch the response after handing it over
+            report(data, built, test, response, failure != null);
+            SummaryReportManager.attachResponse(response, built.getTiming());
+            SummaryReportManager.finish();
         }
     }
 
-    private Response execute(RequestBuilder.BuiltRequest built) {
-        String method = built.getMethod();
-        switch (method) {
-            case "GET":
-                return built.getSpec().get(built.getUrl());
-            case "POST":
-                return built.getSpec().post(built.getUrl());
-            case "PUT":
-                return built.getSpec().put(built.getUrl());
-            case "PATCH":
-                return built.getSpec().patch(built.getUrl());
-            case "DELETE":
-                return built.getSpec().delete(built.getUrl());
-            default:
-                throw new IllegalArgumentException("Unsupported HTTP method: " + method);
-        }
+    private void report(TestCaseData data, RequestBuilder.BuiltRequest built, ExtentTest test,
+                        ParsedResponse response, boolean failed) {
+        RequestTiming timing = built.getTiming();
+        ReportPipeline.submit(() -> {
+            BodyCapture capture = BodyCapture.configured();
+            boolean keepBodies = capture.keeps(failed);
+            String requestBody = keepBodies ? capture.truncate(built.getBody()) : null;
+
+            logger.info("Request [{}] headers: {}", data.getTestCaseId(), data.getHeaderFields());
+            if (requestBody != null) {
+                logger.info("Request [{}] body: {}", data.getTestCaseId(), requestBody);
+            }
+            if (test != null) {
+                test.info("TestCase ID: " + data.getTestCaseId());
+                test.info("TestCase Name: " + data.getTestCaseName());
+                test.info("HTTP Method: " + built.getMethod());
+                test.info("URL: " + built.getUrl());
+                test.info("Headers: " + data.getHeaderFields());
+                test.info("Request Fields: " + data.getRequestFields());
+                if (requestBody != null) {
+                    test.info("Request Body: <pre>" + escapeHtml(requestBody) + "</pre>");
+                }
+            }
+            if (response == null) {
+                return;
+            }
+
+            String responseBody = keepBodies ? capture.truncate(response.getBodyString()) : null;
+            logger.info("Response [{}] status: {} in {}", data.getTestCaseId(), response.getStatusCode(), timing);
+            logger.info("Response [{}] headers: {}", data.getTestCaseId(), response.getHeaders());
+            if (responseBody != null) {
+                logger.info("Response [{}] body: {}", data.getTestCaseId(), responseBody);
+            }
+            if (test != null) {
+                test.info("Response Status: " + response.getStatusCode() + " in " + timing);
+                test.info("Response Headers: " + response.getHeaders());
+                if (responseBody != null) {
+                    test.info("Response Body: <pre>" + escapeHtml(responseBody) + "</pre>");
+                }
+            }
+        });
     }
 
     private String escapeHtml(String input) {
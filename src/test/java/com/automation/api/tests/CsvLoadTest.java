@@ -0,0 +1,79 @@
+package com.automation.api.tests;
+
+import com.automation.api.config.ConfigManager;
+import com.automation.api.core.CsvTestDataLoader;
+import com.automation.api.core.LatencyRecorder;
+import com.automation.api.core.MappedCsvLoader;
+import com.automation.api.core.ResponseValidator;
+import com.automation.api.execution.LoadProfile;
+import com.automation.api.execution.LoadReport;
+import com.automation.api.execution.LoadRunner;
+import com.automation.api.model.TestCaseData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a CSV suite as a sustained-throughput workload. See testng-load.xml.
+ * <p>
+ * mvn test -Dtestng.suite=src/test/resources/testng-load.xml -Dload.rps=50 -Dload.durationSeconds=300
+ * <p>
+ * Settings: load.csvPath plus the load.* keys read by {@link LoadProfile}.
+ * load.csvPath is a classpath resource, or a file on disk, which is loaded
+ * in parallel by {@link MappedCsvLoader}.
+ * The run fails when the error rate exceeds load.maxErrorPercent, or when a
+ * row's expected_p<N>_ms / expected_min_rps is not met over its executions
+ * in the run (expected_max_*_ms failures count towards the error rate). Latency
+ * percentiles per endpoint are logged and the histograms are written to
+ * target/load-latency-histograms.hlog.
+ */
+public class CsvLoadTest {
+
+    private static final Logger logger = LogManager.getLogger(CsvLoadTest.class);
+
+    @Test
+    public void runCsvAsLoad() throws IOException {
+        String csvPath = ConfigManager.getOrDefault("load.csvPath", "test-data/sample_api_tests.csv");
+        double maxErrorPercent = Double.parseDouble(ConfigManager.getOrDefault("load.maxErrorPercent", "1"));
+        LoadProfile profile = LoadProfile.fromConfig();
+
+        logger.info("Load run of {}: {}", csvPath, profile);
+        LatencyRecorder.reset();
+        Path csvFile = Paths.get(csvPath);
+        List<TestCaseData> rows = Files.isRegularFile(csvFile)
+                ? MappedCsvLoader.load(csvFile)
+                : CsvTestDataLoader.load(csvPath);
+        LoadReport report = new LoadRunner(profile).run(rows);
+        logger.info("Load run finished: {}", report);
+        report.getFailuresByTest().forEach((id, count) -> logger.info("  {} failed {} times", id, count));
+        LatencyRecorder.snapshot().forEach((key, histogram) ->
+                logger.info("  {}: {}", key, LatencyRecorder.describe(histogram)));
+        LatencyRecorder.writeLog(Paths.get("target/load-latency-histograms.hlog"));
+
+        Assert.assertTrue(report.getErrorRatePercent() <= maxErrorPercent,
+                "Error rate " + report.getErrorRatePercent() + "% exceeds " + maxErrorPercent + "%: " + report);
+
+        // expected_p<N>_ms / expected_min_rps, over every execution of the row in this run
+        List<String> violations = new ArrayList<>();
+        for (TestCaseData row : rows) {
+            if (!ResponseValidator.hasAggregateExpectations(row)) {
+                continue;
+            }
+            try {
+                ResponseValidator.validateAggregates(row, report.getLatencies(row.getTestCaseId()),
+                        report.getElapsedNanos());
+            } catch (AssertionError e) {
+                violations.add(e.getMessage());
+            }
+        }
+        Assert.assertTrue(violations.isEmpty(), "Latency expectations not met:\n" + String.join("\n", violations));
+    }
+}
@@ -0,0 +1,28 @@
+package com.automation.api.execution;
+
+import com.automation.api.core.CsvTestDataLoader;
+import org.testng.Assert;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import java.util.stream.Collectors;
+
+/**
+ * Runs a whole CSV file through the virtual-thread engine as a single test.
+ * See testng-virtual.xml.
+ */
+public class VirtualThreadCsvTest {
+
+    @Test
+    @Parameters("csvPath")
+    public void runCsvOnVirtualThreads(String csvPath) {
+        CsvExecutionEngine.Report report;
+        try (CsvTestDataLoader.RowIterator rows = CsvTestDataLoader.iterator(csvPath)) {
+            report = VirtualThreadEngine.fromConfig().run(rows);
+        }
+        Assert.assertTrue(report.getFailures().isEmpty(), report + "\n"
+                + report.getFailures().stream()
+                .map(f -> f.getTestId() + ": " + f.getError())
+                .collect(Collectors.joining("\n")));
+    }
+}
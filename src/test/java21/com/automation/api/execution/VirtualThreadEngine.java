@@ -0,0 +1,48 @@
+package com.automation.api.execution;
+
+import com.automation.api.core.CsvTestDataLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs CSV rows on Java virtual threads, one per row.
+ * <p>
+ * Blocking REST Assured calls park the virtual thread instead of holding a
+ * platform thread, so the number of rows in flight is bounded only by
+ * engine.maxConcurrency and engine.maxPerHost rather than by a thread pool.
+ * Requires the java21 build profile.
+ */
+public final class VirtualThreadEngine {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadEngine.class);
+
+    private VirtualThreadEngine() {
+    }
+
+    /**
+     * Engine with limits taken from config.properties.
+     */
+    public static CsvExecutionEngine fromConfig() {
+        return CsvExecutionEngine.fromConfig(Executors::newVirtualThreadPerTaskExecutor);
+    }
+
+    public static CsvExecutionEngine create(int maxConcurrency, int maxPerHost) {
+        return new CsvExecutionEngine(Executors::newVirtualThreadPerTaskExecutor, maxConcurrency, maxPerHost);
+    }
+
+    /**
+     * Run a classpath CSV file, e.g. test-data/sample_api_tests.csv, and
+     * log a summary.
+     */
+    public static void main(String[] args) {
+        String csv = args.length > 0 ? args[0] : "test-data/sample_api_tests.csv";
+        CsvExecutionEngine.Report report;
+        try (CsvTestDataLoader.RowIterator rows = CsvTestDataLoader.iterator(csv)) {
+            report = fromConfig().run(rows);
+        }
+        logger.info("{}", report);
+        report.getFailures().forEach(f -> logger.info("FAIL {}: {}", f.getTestId(), f.getError()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.automation.api.execution;
+
+import com.automation.api.model.TestCaseData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Throughput of the virtual-thread engine against the TestNG model
+ * (a fixed pool of data-provider-thread-count platform threads), both
+ * driving a local stub that answers every request after a fixed delay.
+ * <p>
+ * Arguments: [rows=2000] [delayMillis=100] [testngThreads=8] [virtualConcurrency=1000]
+ * <pre>
+ * mvn -Pjava21 test-compile
+ * java -cp target/test-classes:target/classes:$(deps) com.automation.api.execution.VirtualThreadEngineBenchmark
+ * </pre>
+ */
+public final class VirtualThreadEngineBenchmark {
+
+    private VirtualThreadEngineBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = arg(args, 0, 2000);
+        int delayMillis = arg(args, 1, 100);
+        int testngThreads = arg(args, 2, 8);
+        int virtualConcurrency = arg(args, 3, 1000);
+
+        try (SlowStubServer stub = new SlowStubServer(delayMillis, Executors.newVirtualThreadPerTaskExecutor())) {
+            List<TestCaseData> suite = syntheticRows(stub.getBaseUrl(), rows);
+
+            // warm up REST Assured and the JIT
+            VirtualThreadEngine.create(100, 100).run(syntheticRows(stub.getBaseUrl(), 200).iterator());
+
+            CsvExecutionEngine platform = new CsvExecutionEngine(
+                    () -> Executors.newFixedThreadPool(testngThreads), testngThreads, testngThreads);
+            CsvExecutionEngine virtual = VirtualThreadEngine.create(virtualConcurrency, virtualConcurrency);
+
+            System.out.printf("%d rows, %d ms stub delay%n", rows, delayMillis);
+            System.out.println("platform pool (" + testngThreads + " threads): " + platform.run(suite.iterator()));
+            System.out.println("virtual threads (cap " + virtualConcurrency + "):  " + virtual.run(suite.iterator()));
+        }
+    }
+
+    private static List<TestCaseData> syntheticRows(String baseUrl, int count) {
+        List<TestCaseData> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("testcase_id", "TC" + i);
+            row.put("method", "GET");
+            row.put("url", baseUrl + "/items/" + i);
+            row.put("expected_status", "200");
+            row.put("expected_json_status", "ok");
+            rows.add(new TestCaseData(row));
+        }
+        return rows;
+    }
+
+    private static int arg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}